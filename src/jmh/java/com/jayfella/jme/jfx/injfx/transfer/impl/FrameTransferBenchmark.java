@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.transfer.impl;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jayfella.jme.jfx.injfx.processor.FrameTransferSceneProcessor.TransferMode;
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransferStats.Stage;
+import com.jayfella.jme.jfx.util.BenchmarkFrames;
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.jayfella.jme.jfx.util.FrameTiles;
+import com.jayfella.jme.jfx.util.PixelSwizzle;
+import com.jme3.renderer.Caps;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.Renderer;
+import com.jme3.texture.FrameBuffer;
+
+import javafx.scene.image.PixelWriter;
+
+/**
+ * Measures the frame transfer from jME to javaFX without a GPU and a javaFX toolkit, so no benchmark schedules a
+ * write to javaFX thread:
+ * <ul>
+ *     <li>the readback of an unchanged frame in {@link TransferMode#ON_CHANGES} mode by the frame transfer;</li>
+ *     <li>the detection, the RGBA to BGRA conversion and the mailbox hand over of a changed frame;</li>
+ *     <li>the writing of a full frame to a pixel writer which discards pixels, the PixelBuffer destination isn't
+ *     measured.</li>
+ * </ul>
+ * The two frames differ in the rectangle of a tooltip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameTransferBenchmark {
+
+    /**
+     * The frame transfer which writes to a pixel writer without a destination.
+     */
+    private static class BenchmarkFrameTransfer extends AbstractFrameTransfer<Object> {
+
+        private BenchmarkFrameTransfer(final int width, final int height) {
+            super(null, width, height, TransferMode.ON_CHANGES);
+        }
+
+        @Override
+        protected PixelWriter getPixelWriter(final Object destination, final FrameBuffer frameBuffer,
+                final int width, final int height) {
+            return (PixelWriter) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { PixelWriter.class }, (proxy, method, args) -> null);
+        }
+    }
+
+    @Param({ "1280x720", "1920x1080", "2560x1440", "3840x2160" })
+    private String resolution;
+
+    private int width;
+
+    private int height;
+
+    private ByteBuffer[] frames;
+
+    private int nextFrame;
+
+    private BenchmarkFrameTransfer frameTransfer;
+
+    private RenderManager renderManager;
+
+    private FrameBufferArena.Owner bufferOwner;
+
+    private FrameTiles frameTiles;
+
+    private FrameMailbox mailbox;
+
+    private ByteBuffer readBuffer;
+
+    private byte[] bgraFrame;
+
+    private boolean[] allTiles;
+
+    @Setup
+    public void setup() {
+
+        width = BenchmarkFrames.getWidth(resolution);
+        height = BenchmarkFrames.getHeight(resolution);
+
+        frames = new ByteBuffer[] { ByteBuffer.allocate(width * height * 4), ByteBuffer.allocate(width * height * 4) };
+
+        BenchmarkFrames.fillUi(frames[0].asIntBuffer(), width, height, 1);
+        frames[1].put(frames[0].duplicate()).clear();
+        BenchmarkFrames.invert(frames[1].asIntBuffer(), width, 100, 100, 420, 180);
+
+        final ByteBuffer frame = frames[0];
+
+        frameTransfer = new BenchmarkFrameTransfer(width, height);
+
+        final Renderer renderer = (Renderer) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Renderer.class }, (proxy, method, args) -> {
+
+                    if ("readFrameBufferWithFormat".equals(method.getName())) {
+                        final ByteBuffer target = (ByteBuffer) args[1];
+                        target.put(frame.duplicate().clear());
+                        target.flip();
+                        return null;
+                    }
+
+                    final Class<?> type = method.getReturnType();
+
+                    if (type == EnumSet.class) {
+                        return EnumSet.noneOf(Caps.class);
+                    } else if (type == boolean.class) {
+                        return Boolean.FALSE;
+                    } else if (type == int.class) {
+                        return 0;
+                    } else if (type == long.class) {
+                        return 0L;
+                    } else if (type == float.class) {
+                        return 0F;
+                    }
+
+                    return null;
+                });
+
+        renderManager = new RenderManager(renderer);
+
+        // the tiles already know the frame in the read buffer, so the transfer never publishes a frame and
+        // schedules its write
+        final ByteBuffer readback = frameTransfer.frameByteBuffer;
+        readback.clear();
+        readback.put(frame.duplicate().clear());
+        frameTransfer.getFrameTiles().update(readback);
+        frameTransfer.copyFrameBufferToImage(renderManager);
+
+        if (frameTransfer.getStats().getCount(Stage.STAGE) != 0) {
+            throw new IllegalStateException("The unchanged frame was published.");
+        }
+
+        frameTransfer.resizeDestination(width, height);
+
+        bufferOwner = FrameBufferArena.getDefault().createOwner("FrameTransferBenchmark");
+        frameTiles = new FrameTiles(width, height);
+        mailbox = new FrameMailbox(frameTiles, bufferOwner);
+        readBuffer = ByteBuffer.allocate(width * height * 4);
+
+        publishChangedFrame();
+
+        bgraFrame = Arrays.copyOf(mailbox.getFront(), width * height * 4);
+        allTiles = new boolean[frameTiles.getTileCount()];
+
+        Arrays.fill(allTiles, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        frameTransfer.dispose();
+        mailbox.release();
+        bufferOwner.close();
+    }
+
+    /**
+     * The work of the render thread for an unchanged frame: the readback and the detection of changed tiles.
+     */
+    @Benchmark
+    public void copyFrameBufferToImage() {
+        frameTransfer.copyFrameBufferToImage(renderManager);
+    }
+
+    /**
+     * The work of the render thread for a changed frame after the readback and the taking of the frame by javaFX
+     * thread. The rows of tiles with dirty tiles are converted by the calling thread, as the transfer does for
+     * changes less than {@link AbstractFrameTransfer#PARALLEL_CONVERT_PIXELS} pixels.
+     */
+    @Benchmark
+    public boolean publishChangedFrame() {
+
+        final ByteBuffer source = frames[nextFrame].duplicate();
+        source.clear();
+        nextFrame = 1 - nextFrame;
+
+        readBuffer.clear();
+        readBuffer.put(source);
+        readBuffer.clear();
+
+        if (frameTiles.update(readBuffer) == 0) {
+            return false;
+        }
+
+        final int tilesX = frameTiles.getTilesX();
+
+        for (int tileY = 0, tilesY = frameTiles.getTilesY(); tileY < tilesY; tileY++) {
+            for (int tile = tileY * tilesX, end = tile + tilesX; tile < end; tile++) {
+
+                if (!frameTiles.isDirty(tile)) {
+                    continue;
+                }
+
+                final int minY = tileY * FrameTiles.TILE_SIZE;
+                final int maxY = Math.min(minY + FrameTiles.TILE_SIZE, height);
+
+                PixelSwizzle.reorderRGBA8ToBGRA8(readBuffer, minY * width * 4, (maxY - minY) * width * 4);
+                break;
+            }
+        }
+
+        mailbox.publish(readBuffer);
+        return mailbox.acquire();
+    }
+
+    /**
+     * The work of javaFX thread to write a full frame to the pixel writer.
+     */
+    @Benchmark
+    public byte[] writeFrame() {
+        frameTransfer.writeTiles(bgraFrame, allTiles, width, height);
+        return bgraFrame;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injme;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jayfella.jme.jfx.util.BenchmarkFrames;
+import com.jayfella.jme.jfx.util.DirtyRegion;
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.jayfella.jme.jfx.util.PixelSwizzle;
+import com.sun.javafx.embed.EmbeddedSceneInterface;
+
+/**
+ * Measures the copy path of the frames from javaFX to jME without the texture upload: the redraw of the scene to the
+ * back buffer and the taking of the front frame with copying the changed region to the upload buffer.
+ * <p>
+ * The fake scene returns two frames by turns which differ in the rectangle of the change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameSwapChainBenchmark {
+
+    @Param({ "1280x720", "1920x1080", "2560x1440", "3840x2160" })
+    private String resolution;
+
+    /**
+     * The size of the changed rectangle: a cursor, a tooltip, a panel or the full frame.
+     */
+    @Param({ "CURSOR", "TOOLTIP", "PANEL", "FULL" })
+    private String change;
+
+    @Param({ "false", "true" })
+    private boolean reorder;
+
+    private int width;
+
+    private int height;
+
+    private IntBuffer[] frames;
+
+    private int nextFrame;
+
+    private EmbeddedSceneInterface sceneInterface;
+
+    private Function<ByteBuffer, Void> reorderData;
+
+    private FrameBufferArena.Owner bufferOwner;
+
+    private FrameSwapChain swapChain;
+
+    private ByteBuffer uploadData;
+
+    @Setup
+    public void setup() {
+
+        width = BenchmarkFrames.getWidth(resolution);
+        height = BenchmarkFrames.getHeight(resolution);
+
+        frames = new IntBuffer[] { IntBuffer.allocate(width * height), IntBuffer.allocate(width * height) };
+
+        BenchmarkFrames.fillUi(frames[0], width, height, 1);
+        frames[1].put(frames[0].duplicate());
+
+        switch (change) {
+        case "CURSOR":
+            BenchmarkFrames.invert(frames[1], width, 100, 100, 132, 132);
+            break;
+        case "TOOLTIP":
+            BenchmarkFrames.invert(frames[1], width, 100, 100, 420, 180);
+            break;
+        case "PANEL":
+            BenchmarkFrames.invert(frames[1], width, 0, 0, width / 4, height);
+            break;
+        default:
+            BenchmarkFrames.invert(frames[1], width, 0, 0, width, height);
+            break;
+        }
+
+        sceneInterface = (EmbeddedSceneInterface) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { EmbeddedSceneInterface.class }, (proxy, method, args) -> {
+
+                    if ("getPixels".equals(method.getName())) {
+                        final IntBuffer dest = (IntBuffer) args[0];
+                        final IntBuffer source = frames[nextFrame].duplicate();
+                        source.clear();
+                        dest.clear();
+                        dest.put(source);
+                        nextFrame = 1 - nextFrame;
+                        return Boolean.TRUE;
+                    }
+
+                    return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                });
+
+        reorderData = reorder ? data -> {
+            PixelSwizzle.reorderBGRA8ToABGR8(data);
+            return null;
+        } : null;
+
+        bufferOwner = FrameBufferArena.getDefault().createOwner("FrameSwapChainBenchmark");
+        swapChain = new FrameSwapChain(width, height, bufferOwner);
+        uploadData = bufferOwner.allocate(width * height * 4);
+
+        swapChain.draw(sceneInterface, reorderData);
+        swapChain.acquire();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        swapChain.dispose();
+        bufferOwner.release(uploadData);
+        bufferOwner.close();
+    }
+
+    /**
+     * The work of {@code requestRedraw()} in javaFX thread.
+     */
+    @Benchmark
+    public boolean redraw() {
+        return swapChain.draw(sceneInterface, reorderData);
+    }
+
+    /**
+     * The work of {@code requestRedraw()} in javaFX thread and {@code writeToJme()} in jME thread up to the
+     * texture upload.
+     */
+    @Benchmark
+    public ByteBuffer redrawAndWrite() {
+
+        swapChain.draw(sceneInterface, reorderData);
+
+        if (!swapChain.acquire()) {
+            return null;
+        }
+
+        final ByteBuffer frame = swapChain.getFrontBuffer();
+        final DirtyRegion region = swapChain.getFrontRegion();
+
+        if (region.getWidth() == width) {
+            return frame;
+        }
+
+        JmeFxContainerImpl.copyRegion(frame.duplicate(), region, width, uploadData);
+        return uploadData;
+    }
+}
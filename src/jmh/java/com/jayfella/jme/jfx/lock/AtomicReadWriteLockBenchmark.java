@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the {@link AtomicReadWriteLock} with three readers and one writer, the {@link ReentrantReadWriteLock}
+ * is measured as the baseline.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtomicReadWriteLockBenchmark {
+
+    @Param({ "ATOMIC", "REENTRANT" })
+    private String lockType;
+
+    /**
+     * The work inside of the lock in tokens of {@link Blackhole#consumeCPU(long)}.
+     */
+    @Param({ "10", "100" })
+    private long work;
+
+    private AtomicReadWriteLock atomicLock;
+
+    private ReentrantReadWriteLock reentrantLock;
+
+    @Setup
+    public void setup() {
+        atomicLock = new FinalAtomicReadWriteLock();
+        reentrantLock = new ReentrantReadWriteLock();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public void read() {
+        if ("ATOMIC".equals(lockType)) {
+            atomicLock.asyncLock();
+            try {
+                Blackhole.consumeCPU(work);
+            } finally {
+                atomicLock.asyncUnlock();
+            }
+        } else {
+            reentrantLock.readLock().lock();
+            try {
+                Blackhole.consumeCPU(work);
+            } finally {
+                reentrantLock.readLock().unlock();
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void write() {
+        if ("ATOMIC".equals(lockType)) {
+            atomicLock.syncLock();
+            try {
+                Blackhole.consumeCPU(work);
+            } finally {
+                atomicLock.syncUnlock();
+            }
+        } else {
+            reentrantLock.writeLock().lock();
+            try {
+                Blackhole.consumeCPU(work);
+            } finally {
+                reentrantLock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.nio.IntBuffer;
+import java.util.Random;
+
+/**
+ * The utility methods to prepare frames for benchmarks, the resolutions are given as WIDTHxHEIGHT.
+ */
+public final class BenchmarkFrames {
+
+    /**
+     * Gets the width from the resolution.
+     *
+     * @param resolution the resolution as WIDTHxHEIGHT.
+     * @return the width.
+     */
+    public static int getWidth(final String resolution) {
+        return Integer.parseInt(resolution.substring(0, resolution.indexOf('x')));
+    }
+
+    /**
+     * Gets the height from the resolution.
+     *
+     * @param resolution the resolution as WIDTHxHEIGHT.
+     * @return the height.
+     */
+    public static int getHeight(final String resolution) {
+        return Integer.parseInt(resolution.substring(resolution.indexOf('x') + 1));
+    }
+
+    /**
+     * Fills the frame as a typical UI: transparent background with opaque panels.
+     *
+     * @param pixels the pixels of the frame.
+     * @param width  the width of the frame.
+     * @param height the height of the frame.
+     * @param seed   the seed of the pixel colors.
+     */
+    public static void fillUi(final IntBuffer pixels, final int width, final int height, final long seed) {
+
+        final Random random = new Random(seed);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+
+                final boolean panel = x < width / 4 || y > height - height / 5;
+                final int color = random.nextInt() & 0x00FFFFFF;
+
+                pixels.put(y * width + x, panel ? 0xFF000000 | color : 0);
+            }
+        }
+    }
+
+    /**
+     * Changes the pixels of the rectangle of the frame.
+     *
+     * @param pixels the pixels of the frame.
+     * @param width  the width of the frame.
+     * @param minX   the min X of the rectangle.
+     * @param minY   the min Y of the rectangle.
+     * @param maxX   the max X of the rectangle, exclusive.
+     * @param maxY   the max Y of the rectangle, exclusive.
+     */
+    public static void invert(final IntBuffer pixels, final int width, final int minX, final int minY,
+            final int maxX, final int maxY) {
+
+        for (int y = minY; y < maxY; y++) {
+            for (int x = minX; x < maxX; x++) {
+                final int index = y * width + x;
+                pixels.put(index, ~pixels.get(index));
+            }
+        }
+    }
+
+    private BenchmarkFrames() {
+    }
+}
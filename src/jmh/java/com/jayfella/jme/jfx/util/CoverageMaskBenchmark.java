@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the hit test by the coverage mask and the full update of the mask from a frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoverageMaskBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({ "1280x720", "1920x1080", "2560x1440", "3840x2160" })
+    private String resolution;
+
+    @Param({ "0", "1" })
+    private int cellShift;
+
+    private IntBuffer frame;
+
+    private DirtyRegion fullRegion;
+
+    private CoverageMask coverageMask;
+
+    private int[] pointsX;
+
+    private int[] pointsY;
+
+    private int nextPoint;
+
+    @Setup
+    public void setup() {
+
+        final int width = BenchmarkFrames.getWidth(resolution);
+        final int height = BenchmarkFrames.getHeight(resolution);
+        final Random random = new Random(1);
+
+        frame = ByteBuffer.allocateDirect(width * height * 4).asIntBuffer();
+        BenchmarkFrames.fillUi(frame, width, height, 1);
+
+        fullRegion = new DirtyRegion().setFull(width, height);
+        coverageMask = new CoverageMask(width, height, cellShift, 1);
+        coverageMask.update(frame, 24, fullRegion);
+
+        pointsX = new int[POINTS];
+        pointsY = new int[POINTS];
+
+        for (int i = 0; i < POINTS; i++) {
+            pointsX[i] = random.nextInt(width);
+            pointsY[i] = random.nextInt(height);
+        }
+    }
+
+    @Benchmark
+    public boolean isCovered() {
+        final int point = nextPoint++ & (POINTS - 1);
+        return coverageMask.isCovered(pointsX[point], pointsY[point]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CoverageMask updateFull() {
+        coverageMask.update(frame, 24, fullRegion);
+        return coverageMask;
+    }
+}
@@ -32,6 +32,7 @@ import java.util.List;
 
 import com.jayfella.jme.jfx.impl.JmeUpdateLoop;
 import com.jayfella.jme.jfx.impl.SceneNotifier;
+import com.jayfella.jme.jfx.injme.HitTestPolicy;
 import com.jayfella.jme.jfx.injme.JmeFxContainer;
 import com.jayfella.jme.jfx.injme.JmeFxContainerImpl;
 import com.jayfella.jme.jfx.util.JfxPlatform;
@@ -93,6 +94,8 @@ public class JavaFxUI {
         uiscene = new AnchorPane();
         uiscene.setMinWidth(app.getCamera().getWidth());
         uiscene.setMinHeight(app.getCamera().getHeight());
+        // the empty space of the UI layer doesn't cover the jME scene
+        uiscene.getProperties().put(HitTestPolicy.NODE_LAYER, Boolean.TRUE);
         group.getChildren().add(uiscene);
 
         scene = new Scene(group, app.getCamera().getWidth(), app.getCamera().getHeight());
@@ -26,40 +26,99 @@
  */
 package com.jayfella.jme.jfx.injfx;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The executor for executing tasks in application thread.
+ * <p>
+ * Every {@link JmeOffscreenSurfaceContext} has its own executor. Tasks are added by any thread to a lock-free
+ * multi-producer single-consumer queue, adding a task allocates only a small node and never copies the queue.
+ * Application thread drains the queue in batches, a batch executes at most the task budget, the rest of tasks
+ * waits for the next frame.
  *
  * @author JavaSaBr
  */
 public class ApplicationThreadExecutor {
 
+    /**
+     * The default max count of tasks to execute in one batch.
+     */
+    public static final int DEFAULT_TASK_BUDGET = 1024;
+
     private static final ApplicationThreadExecutor INSTANCE = new ApplicationThreadExecutor();
 
+    /**
+     * Gets the shared executor, nothing drains this executor.
+     *
+     * @return the shared executor.
+     * @deprecated use the executor of the context {@link JmeOffscreenSurfaceContext#getExecutor()}.
+     */
+    @Deprecated
     public static ApplicationThreadExecutor getInstance() {
         return INSTANCE;
     }
 
     /**
-     * The list of waiting tasks.
+     * The node of the queue of tasks.
+     */
+    private static final class TaskNode {
+
+        /**
+         * The task or null if the task is taken.
+         */
+        private Runnable task;
+
+        /**
+         * The next node.
+         */
+        private volatile TaskNode next;
+
+        private TaskNode(Runnable task) {
+            this.task = task;
+        }
+    }
+
+    /**
+     * The last added node, it's changed by producers.
+     */
+    private final AtomicReference<TaskNode> tail;
+
+    /**
+     * The count of added tasks.
+     */
+    private final AtomicLong addedCount;
+
+    /**
+     * The node before the first waiting task, it's used only by application thread.
+     */
+    private TaskNode head;
+
+    /**
+     * The count of executed tasks.
+     */
+    private volatile long executedCount;
+
+    /**
+     * The count of tasks executed in the last batch.
+     */
+    private volatile int lastBatchCount;
+
+    /**
+     * The max count of waiting tasks at the start of a batch.
      */
-    // private final ConcurrentArray<Runnable> waitTasks;
-    private final CopyOnWriteArrayList<Runnable> waitTasks;
+    private volatile long maxQueueDepth;
 
     /**
-     * The list of tasks to execute.
+     * The max count of tasks to execute in one batch.
      */
-    // private final Array<Runnable> execute;
-    private final List<Runnable> execute;
+    private volatile int taskBudget;
 
-    private ApplicationThreadExecutor() {
-        // this.waitTasks = ArrayFactory.newConcurrentAtomicARSWLockArray(Runnable.class);
-        // this.execute = ArrayFactory.newArray(Runnable.class);
-        this.waitTasks = new CopyOnWriteArrayList<>();
-        this.execute = new ArrayList<>();
+    public ApplicationThreadExecutor() {
+        this.head = new TaskNode(null);
+        this.tail = new AtomicReference<>(head);
+        this.addedCount = new AtomicLong();
+        this.taskBudget = DEFAULT_TASK_BUDGET;
     }
 
     /**
@@ -68,28 +127,122 @@ public class ApplicationThreadExecutor {
      * @param task the new task.
      */
     public void addToExecute(Runnable task) {
-        // ArrayUtils.runInWriteLock(waitTasks, task, Array::add);
-        waitTasks.add(task);
+
+        var node = new TaskNode(task);
+        var prev = tail.getAndSet(node);
+
+        addedCount.incrementAndGet();
+
+        // the node is reachable for the consumer only after linking
+        prev.next = node;
     }
 
     /**
-     * Execute the waiting tasks.
+     * Execute the waiting tasks up to the task budget, it's called only by application thread.
+     *
+     * @return the count of executed tasks.
      */
-    public void execute() {
+    public int execute() {
+
+        final long depth = getQueueDepth();
 
-        if (waitTasks.isEmpty()) {
-            return;
+        if (depth < 1) {
+            lastBatchCount = 0;
+            return 0;
         }
 
-        // ArrayUtils.runInWriteLock(waitTasks, execute, ArrayUtils::move);
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+
+        final int budget = taskBudget;
 
-        //long stamp
+        var count = 0;
 
         try {
-            execute.forEach(Runnable::run);
+            while (count < budget) {
+
+                var next = head.next;
+
+                if (next == null) {
+                    break;
+                }
+
+                var task = next.task;
+                next.task = null;
+                head = next;
+                count++;
+
+                task.run();
+            }
         } finally {
-            execute.clear();
+            executedCount += count;
+            lastBatchCount = count;
         }
 
+        return count;
+    }
+
+    /**
+     * Gets the count of waiting tasks.
+     *
+     * @return the count of waiting tasks.
+     */
+    public long getQueueDepth() {
+        return addedCount.get() - executedCount;
+    }
+
+    /**
+     * Gets the max count of waiting tasks at the start of a batch.
+     *
+     * @return the max queue depth.
+     */
+    public long getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * Gets the count of added tasks.
+     *
+     * @return the count of added tasks.
+     */
+    public long getAddedCount() {
+        return addedCount.get();
+    }
+
+    /**
+     * Gets the count of executed tasks.
+     *
+     * @return the count of executed tasks.
+     */
+    public long getExecutedCount() {
+        return executedCount;
+    }
+
+    /**
+     * Gets the count of tasks executed in the last batch.
+     *
+     * @return the count of tasks.
+     */
+    public int getLastBatchCount() {
+        return lastBatchCount;
+    }
+
+    /**
+     * Gets the max count of tasks to execute in one batch.
+     *
+     * @return the task budget.
+     */
+    public int getTaskBudget() {
+        return taskBudget;
+    }
+
+    /**
+     * Sets the max count of tasks to execute in one batch, the rest of tasks waits for the next batch.
+     *
+     * @param taskBudget the task budget.
+     */
+    public void setTaskBudget(int taskBudget) {
+        this.taskBudget = Math.max(1, taskBudget);
     }
 }
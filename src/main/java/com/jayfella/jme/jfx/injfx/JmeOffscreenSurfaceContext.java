@@ -28,6 +28,7 @@ package com.jayfella.jme.jfx.injfx;
 
 import com.jayfella.jme.jfx.injfx.input.JfxKeyInput;
 import com.jayfella.jme.jfx.injfx.input.JfxMouseInput;
+import com.jayfella.jme.jfx.util.JfxPlatform;
 import com.jme3.input.JoyInput;
 import com.jme3.input.TouchInput;
 import com.jme3.opencl.Context;
@@ -38,13 +39,25 @@ import com.jme3.system.JmeSystem;
 import com.jme3.system.SystemListener;
 import com.jme3.system.Timer;
 
+import javafx.scene.Node;
+
 /**
  * The implementation of the {@link JmeContext} for integrating to JavaFX.
+ * <p>
+ * The context observes the node bound to its input, while the node isn't showing (a hidden tab, a minimized or
+ * closed window) the context is suspended: it isn't renderable, so the application doesn't render its main view
+ * ports, frame transfer processors don't render their view ports or read frames back, and jME thread updates the
+ * application only a few times per second to keep running enqueued tasks and app states.
  *
  * @author empirephoenix
  */
 public class JmeOffscreenSurfaceContext implements JmeContext {
 
+    /**
+     * The period of updates of the application while the context is suspended in milliseconds.
+     */
+    public static final long SUSPENDED_UPDATE_PERIOD = 100;
+
     /**
      * The settings.
      */
@@ -60,6 +73,51 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
      */
     protected final JfxMouseInput mouseInput;
 
+    /**
+     * The executor of tasks from javaFX thread.
+     */
+    private final ApplicationThreadExecutor executor;
+
+    /**
+     * The observer of showing the bound node.
+     */
+    private final NodeVisibilityObserver visibilityObserver;
+
+    /**
+     * The lock to wake jME thread up from waiting for the next suspended update.
+     */
+    private final Object suspendLock;
+
+    /**
+     * The system listener.
+     */
+    private volatile SystemListener systemListener;
+
+    /**
+     * True if the context is suspended.
+     */
+    private volatile boolean suspended;
+
+    /**
+     * True if the context should be suspended while the bound node isn't showing.
+     */
+    private volatile boolean suspendWhenHidden;
+
+    /**
+     * True if this context is destroyed.
+     */
+    private volatile boolean destroyed;
+
+    /**
+     * The index of the current frame, it's used only by jME thread.
+     */
+    private long frame;
+
+    /**
+     * The index of the frame of the last execution of tasks, it's used only by jME thread.
+     */
+    private long executedFrame;
+
     /**
      * The current width.
      */
@@ -80,10 +138,107 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
         this.mouseInput = new JfxMouseInput(this);
         this.settings = createSettings();
         this.backgroundContext = createBackgroundContext();
+        this.executor = new ApplicationThreadExecutor();
+        this.visibilityObserver = new NodeVisibilityObserver(this::notifyShowing);
+        this.suspendLock = new Object();
+        this.suspendWhenHidden = true;
         this.height = 1;
         this.width = 1;
     }
 
+    /**
+     * Gets the executor of tasks from javaFX thread in jME thread.
+     *
+     * @return the executor.
+     */
+    public ApplicationThreadExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Execute the waiting tasks of the executor once per frame, it's called only by jME thread.
+     */
+    public void executeTasks() {
+
+        if (executedFrame == frame) {
+            return;
+        }
+
+        executedFrame = frame;
+        executor.execute();
+    }
+
+    /**
+     * Start to observe showing the node, it's called only by javaFX thread.
+     *
+     * @param node the node.
+     */
+    public void observeVisibility(Node node) {
+        visibilityObserver.observe(node);
+    }
+
+    /**
+     * Stop to observe showing the node if it's observed.
+     *
+     * @param node the node.
+     */
+    public void stopObservingVisibility(Node node) {
+        JfxPlatform.runInFxThread(() -> {
+            if (visibilityObserver.getNode() == node) {
+                visibilityObserver.stop();
+            }
+        });
+    }
+
+    /**
+     * Checks of suspending the context while the bound node isn't showing.
+     *
+     * @return true if the context is suspended while the node isn't showing.
+     */
+    public boolean isSuspendWhenHidden() {
+        return suspendWhenHidden;
+    }
+
+    /**
+     * Sets the flag of suspending the context while the bound node isn't showing.
+     *
+     * @param suspendWhenHidden true to suspend the context while the node isn't showing.
+     */
+    public void setSuspendWhenHidden(boolean suspendWhenHidden) {
+        this.suspendWhenHidden = suspendWhenHidden;
+        setSuspended(suspendWhenHidden && !visibilityObserver.isShowing());
+    }
+
+    /**
+     * Checks of suspending the context, a suspended context isn't renderable.
+     *
+     * @return true if the context is suspended.
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Handle changing the showing state of the bound node.
+     *
+     * @param showing true if the node is showing.
+     */
+    protected void notifyShowing(boolean showing) {
+        setSuspended(suspendWhenHidden && !showing);
+    }
+
+    /**
+     * Suspend or resume the context.
+     *
+     * @param suspended true to suspend the context.
+     */
+    protected void setSuspended(boolean suspended) {
+        synchronized (suspendLock) {
+            this.suspended = suspended;
+            suspendLock.notifyAll();
+        }
+    }
+
     /**
      * Gets the current height.
      *
@@ -164,7 +319,8 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
 
     @Override
     public void setSystemListener(SystemListener listener) {
-        getBackgroundContext().setSystemListener(listener);
+        this.systemListener = listener;
+        getBackgroundContext().setSystemListener(new SuspendableSystemListener(listener));
     }
 
     @Override
@@ -218,7 +374,7 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
 
     @Override
     public boolean isRenderable() {
-        return backgroundContext != null && backgroundContext.isRenderable();
+        return !suspended && backgroundContext != null && backgroundContext.isRenderable();
     }
 
     @Override
@@ -244,13 +400,18 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
             throw new IllegalStateException("Not created");
         }
 
+        synchronized (suspendLock) {
+            destroyed = true;
+            suspendLock.notifyAll();
+        }
+
         // destroy wrapped context
         backgroundContext.destroy(waitFor);
     }
 
     @Override
     public SystemListener getSystemListener() {
-        return getBackgroundContext().getSystemListener();
+        return systemListener;
     }
 
     @Override
@@ -272,4 +433,91 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
     public int getWindowYPosition() {
         return getBackgroundContext().getWindowYPosition();
     }
-}
\ No newline at end of file
+
+    /**
+     * The system listener which slows updates of the application down while the context is suspended.
+     */
+    private class SuspendableSystemListener implements SystemListener {
+
+        /**
+         * The system listener of the application.
+         */
+        private final SystemListener listener;
+
+        private SuspendableSystemListener(SystemListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void initialize() {
+            listener.initialize();
+        }
+
+        @Override
+        public void reshape(int width, int height) {
+            listener.reshape(width, height);
+        }
+
+        @Override
+        public void update() {
+
+            if (suspended) {
+                awaitNextUpdate();
+            }
+
+            frame++;
+            listener.update();
+        }
+
+        /**
+         * Wait for the period of suspended updates, resuming or destroying the context wakes jME thread up earlier.
+         * An interrupt wakes jME thread up too and is consumed, the context is stopped only by destroying.
+         */
+        private void awaitNextUpdate() {
+
+            final long deadline = System.nanoTime() + SUSPENDED_UPDATE_PERIOD * 1_000_000L;
+
+            synchronized (suspendLock) {
+                while (suspended && !destroyed) {
+
+                    final long remaining = (deadline - System.nanoTime()) / 1_000_000L;
+
+                    if (remaining <= 0) {
+                        return;
+                    }
+
+                    try {
+                        suspendLock.wait(remaining);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void requestClose(boolean esc) {
+            listener.requestClose(esc);
+        }
+
+        @Override
+        public void gainFocus() {
+            listener.gainFocus();
+        }
+
+        @Override
+        public void loseFocus() {
+            listener.loseFocus();
+        }
+
+        @Override
+        public void handleError(String errorMsg, Throwable t) {
+            listener.handleError(errorMsg, t);
+        }
+
+        @Override
+        public void destroy() {
+            listener.destroy();
+        }
+    }
+}
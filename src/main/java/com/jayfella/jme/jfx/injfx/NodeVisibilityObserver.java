@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * The observer of showing a node on the screen.
+ * <p>
+ * The node is showing when it and all its parents are visible, it's attached to a scene and the window of the
+ * scene is showing and isn't iconified. The observer listens to the properties of the whole chain and rebuilds
+ * its listeners when the chain is changed, so a node in a hidden tab or in a minimized window is reported as not
+ * showing. It's used only by javaFX thread.
+ *
+ * @author JavaSaBr
+ */
+public class NodeVisibilityObserver {
+
+    /**
+     * The listener of changing the chain of the node.
+     */
+    private final InvalidationListener listener = this::invalidate;
+
+    /**
+     * The properties which are observed.
+     */
+    private final List<Observable> observed;
+
+    /**
+     * The handler of changing the showing state.
+     */
+    private final Consumer<Boolean> handler;
+
+    /**
+     * The observed node.
+     */
+    private Node node;
+
+    /**
+     * True if the node is showing.
+     */
+    private boolean showing;
+
+    public NodeVisibilityObserver(Consumer<Boolean> handler) {
+        this.handler = handler;
+        this.observed = new ArrayList<>();
+        this.showing = true;
+    }
+
+    /**
+     * Start to observe the node.
+     *
+     * @param node the node.
+     */
+    public void observe(Node node) {
+
+        if (this.node == node) {
+            return;
+        }
+
+        stop();
+
+        this.node = node;
+
+        invalidate(null);
+    }
+
+    /**
+     * Stop to observe the current node, the node is reported as showing.
+     */
+    public void stop() {
+
+        clearListeners();
+
+        this.node = null;
+
+        update(true);
+    }
+
+    /**
+     * Gets the observed node.
+     *
+     * @return the observed node or null.
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * Checks of showing the observed node.
+     *
+     * @return true if the node is showing.
+     */
+    public boolean isShowing() {
+        return showing;
+    }
+
+    private void invalidate(Observable observable) {
+
+        clearListeners();
+
+        if (node == null) {
+            return;
+        }
+
+        var visible = true;
+
+        for (Node current = node; current != null; current = current.getParent()) {
+            listen(current.visibleProperty());
+            listen(current.parentProperty());
+            visible &= current.isVisible();
+        }
+
+        listen(node.sceneProperty());
+
+        final Scene scene = node.getScene();
+        final Window window = scene == null ? null : scene.getWindow();
+
+        if (scene != null) {
+            listen(scene.windowProperty());
+        }
+
+        if (window != null) {
+            listen(window.showingProperty());
+        }
+
+        if (window instanceof Stage) {
+            listen(((Stage) window).iconifiedProperty());
+        }
+
+        update(visible && window != null && window.isShowing()
+                && !(window instanceof Stage && ((Stage) window).isIconified()));
+    }
+
+    private void listen(Observable observable) {
+        observable.addListener(listener);
+        observed.add(observable);
+    }
+
+    private void clearListeners() {
+
+        for (final Observable observable : observed) {
+            observable.removeListener(listener);
+        }
+
+        observed.clear();
+    }
+
+    private void update(boolean showing) {
+
+        if (this.showing == showing) {
+            return;
+        }
+
+        this.showing = showing;
+
+        handler.accept(showing);
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.input;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The bounded single-producer single-consumer ring of input events.
+ * <p>
+ * An event is packed to a record of a type, {@link #VALUES} int values and a time in preallocated arrays, so
+ * adding and polling events doesn't allocate. javaFX thread is the only producer and jME thread is the only
+ * consumer. When the ring is full the {@link OverflowPolicy} decides which event is dropped.
+ * <p>
+ * Only events added by {@link #add} can be dropped. Events added by {@link #addReliable}, for example button and key
+ * events, are never dropped: when the ring is full they wait in an overflow queue, and while the overflow queue
+ * isn't empty all new events go after them, so the order of events is kept.
+ *
+ * @author JavaSaBr
+ */
+public class InputEventRing {
+
+    /**
+     * The policy of adding an event to the full ring.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The new event is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * The oldest waiting event is dropped to add the new event, if it can be dropped, otherwise the new event is
+         * dropped.
+         */
+        DROP_OLDEST
+    }
+
+    /**
+     * The default capacity of rings.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The count of int values in a record.
+     */
+    public static final int VALUES = 6;
+
+    private static final int STRIDE = VALUES + 1;
+
+    /**
+     * The types and the values of records.
+     */
+    private final int[] records;
+
+    /**
+     * The times of records.
+     */
+    private final long[] times;
+
+    /**
+     * The flags of records which can't be dropped.
+     */
+    private final boolean[] reliable;
+
+    /**
+     * The queue of reliable events which didn't fit the ring.
+     */
+    private final ConcurrentLinkedQueue<Overflow> overflow;
+
+    /**
+     * The count of events in the overflow queue.
+     */
+    private final AtomicInteger overflowSize;
+
+    /**
+     * The mask of indexes.
+     */
+    private final int mask;
+
+    /**
+     * The index of the next record to poll.
+     */
+    private final AtomicLong head;
+
+    /**
+     * The index of the next record to add.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * The count of added events.
+     */
+    private final AtomicLong addedCount;
+
+    /**
+     * The count of dropped events.
+     */
+    private final AtomicLong droppedCount;
+
+    /**
+     * The count of events added to the overflow queue.
+     */
+    private final AtomicLong overflowCount;
+
+    /**
+     * The values of the polled record, it's used only by the consumer.
+     */
+    private final int[] values;
+
+    /**
+     * The overflow policy.
+     */
+    private volatile OverflowPolicy overflowPolicy;
+
+    /**
+     * The type of the polled record, it's used only by the consumer.
+     */
+    private int type;
+
+    /**
+     * The time of the polled record, it's used only by the consumer.
+     */
+    private long time;
+
+    public InputEventRing(int capacity, OverflowPolicy overflowPolicy) {
+
+        if (capacity < 2) {
+            throw new IllegalArgumentException("The capacity " + capacity + " is less than 2.");
+        }
+
+        capacity = Integer.highestOneBit(capacity - 1) << 1;
+
+        this.records = new int[capacity * STRIDE];
+        this.times = new long[capacity];
+        this.reliable = new boolean[capacity];
+        this.overflow = new ConcurrentLinkedQueue<>();
+        this.overflowSize = new AtomicInteger();
+        this.mask = capacity - 1;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+        this.addedCount = new AtomicLong();
+        this.droppedCount = new AtomicLong();
+        this.overflowCount = new AtomicLong();
+        this.values = new int[VALUES];
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Add the event which can be dropped, it's called only by the producer.
+     *
+     * @param type the type of the event.
+     * @param v0   the first value.
+     * @param v1   the second value.
+     * @param v2   the third value.
+     * @param v3   the fourth value.
+     * @param v4   the fifth value.
+     * @param v5   the sixth value.
+     * @param time the time of the event.
+     * @return true if the event was added.
+     */
+    public boolean add(int type, int v0, int v1, int v2, int v3, int v4, int v5, long time) {
+        return add(false, type, v0, v1, v2, v3, v4, v5, time);
+    }
+
+    /**
+     * Add the event which can't be dropped, it's called only by the producer.
+     *
+     * @param type the type of the event.
+     * @param v0   the first value.
+     * @param v1   the second value.
+     * @param v2   the third value.
+     * @param v3   the fourth value.
+     * @param v4   the fifth value.
+     * @param v5   the sixth value.
+     * @param time the time of the event.
+     */
+    public void addReliable(int type, int v0, int v1, int v2, int v3, int v4, int v5, long time) {
+        add(true, type, v0, v1, v2, v3, v4, v5, time);
+    }
+
+    private boolean add(boolean reliable, int type, int v0, int v1, int v2, int v3, int v4, int v5, long time) {
+
+        // the waiting overflow events must be polled before new events
+        if (overflowSize.get() > 0) {
+            return addToOverflow(reliable, type, v0, v1, v2, v3, v4, v5, time);
+        }
+
+        final long index = tail.get();
+
+        while (index - head.get() > mask) {
+
+            final long first = head.get();
+
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST || this.reliable[(int) (first & mask)]) {
+                if (index - first > mask) {
+                    return addToOverflow(reliable, type, v0, v1, v2, v3, v4, v5, time);
+                } else {
+                    continue;
+                }
+            }
+
+            if (index - first > mask && head.compareAndSet(first, first + 1)) {
+                droppedCount.incrementAndGet();
+            }
+        }
+
+        final int slot = (int) (index & mask);
+        final int offset = slot * STRIDE;
+
+        records[offset] = type;
+        records[offset + 1] = v0;
+        records[offset + 2] = v1;
+        records[offset + 3] = v2;
+        records[offset + 4] = v3;
+        records[offset + 5] = v4;
+        records[offset + 6] = v5;
+        times[slot] = time;
+        this.reliable[slot] = reliable;
+
+        addedCount.incrementAndGet();
+        tail.lazySet(index + 1);
+        return true;
+    }
+
+    private boolean addToOverflow(
+            boolean reliable,
+            int type,
+            int v0,
+            int v1,
+            int v2,
+            int v3,
+            int v4,
+            int v5,
+            long time
+    ) {
+
+        if (!reliable) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+
+        overflow.add(new Overflow(type, new int[] { v0, v1, v2, v3, v4, v5 }, time));
+        overflowSize.incrementAndGet();
+        overflowCount.incrementAndGet();
+        addedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Poll the next event, its type, values and time are available by getters until the next poll, it's called
+     * only by the consumer.
+     *
+     * @return true if an event was polled.
+     */
+    public boolean poll() {
+
+        while (true) {
+
+            final long index = head.get();
+
+            if (index >= tail.get()) {
+                return pollOverflow();
+            }
+
+            final int slot = (int) (index & mask);
+            final int offset = slot * STRIDE;
+
+            type = records[offset];
+            time = times[slot];
+
+            for (int i = 0; i < VALUES; i++) {
+                values[i] = records[offset + 1 + i];
+            }
+
+            // the producer could drop this record and reuse its slot while reading
+            if (head.compareAndSet(index, index + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Poll the next event from the overflow queue, it's called only by the consumer.
+     *
+     * @return true if an event was polled.
+     */
+    private boolean pollOverflow() {
+
+        final Overflow event = overflow.peek();
+
+        if (event == null) {
+            return false;
+        }
+
+        // the ring could get older events after checking it, no events are added to it while the event waits
+        if (head.get() < tail.get()) {
+            return poll();
+        }
+
+        overflow.poll();
+
+        type = event.type;
+        time = event.time;
+        System.arraycopy(event.values, 0, values, 0, VALUES);
+
+        overflowSize.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the type of the polled event.
+     *
+     * @return the type.
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Gets the value of the polled event.
+     *
+     * @param index the index of the value.
+     * @return the value.
+     */
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Gets the time of the polled event.
+     *
+     * @return the time.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the count of waiting events.
+     *
+     * @return the count of waiting events.
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get()) + overflowSize.get();
+    }
+
+    /**
+     * Gets the count of added events.
+     *
+     * @return the count of added events.
+     */
+    public long getAddedCount() {
+        return addedCount.get();
+    }
+
+    /**
+     * Gets the count of dropped events.
+     *
+     * @return the count of dropped events.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the count of reliable events which didn't fit the ring and waited in the overflow queue.
+     *
+     * @return the count of overflow events.
+     */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    /**
+     * Gets the overflow policy.
+     *
+     * @return the overflow policy.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the overflow policy.
+     *
+     * @param overflowPolicy the overflow policy.
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * The reliable event which didn't fit the ring.
+     */
+    private static final class Overflow {
+
+        private final int type;
+
+        private final int[] values;
+
+        private final long time;
+
+        private Overflow(int type, int[] values, long time) {
+            this.type = type;
+            this.values = values;
+            this.time = time;
+        }
+    }
+}
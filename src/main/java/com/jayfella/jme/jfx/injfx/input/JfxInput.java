@@ -40,8 +40,6 @@ import javafx.scene.Scene;
  */
 public class JfxInput implements Input {
 
-    protected static final ApplicationThreadExecutor EXECUTOR = ApplicationThreadExecutor.getInstance();
-
     /**
      * The context.
      */
@@ -106,12 +104,16 @@ public class JfxInput implements Input {
     public void bind(Node node) {
         this.node = node;
         this.scene = node.getScene();
+        context.observeVisibility(node);
     }
 
     /**
      * Unbind.
      */
     public void unbind() {
+        if (node != null) {
+            context.stopObservingVisibility(node);
+        }
         this.node = null;
         this.scene = null;
     }
@@ -129,8 +131,18 @@ public class JfxInput implements Input {
     protected void initializeImpl() {
     }
 
+    /**
+     * Gets the executor of the context.
+     *
+     * @return the executor.
+     */
+    protected ApplicationThreadExecutor getExecutor() {
+        return context.getExecutor();
+    }
+
     @Override
     public void update() {
+        context.executeTasks();
         if (!context.isRenderable()) return;
         updateImpl();
     }
@@ -27,7 +27,6 @@
 package com.jayfella.jme.jfx.injfx.input;
 
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 
 import com.jayfella.jme.jfx.injfx.JmeOffscreenSurfaceContext;
@@ -162,12 +161,24 @@ public class JfxKeyInput extends JfxInput implements KeyInput {
 
     private final EventHandler<KeyEvent> processKeyPressed = this::processKeyPressed;
     private final EventHandler<KeyEvent> processKeyReleased = this::processKeyReleased;
-    private final LinkedList<KeyInputEvent> keyInputEvents;
+
+    /**
+     * The ring of key events from javaFX thread to jME thread, key events are never dropped.
+     */
+    private final InputEventRing events;
 
     public JfxKeyInput(JmeOffscreenSurfaceContext context) {
         super(context);
-        // this.keyInputEvents = newLinkedList(KeyInputEvent.class);
-        this.keyInputEvents = new LinkedList<>();
+        this.events = new InputEventRing(InputEventRing.DEFAULT_CAPACITY, InputEventRing.OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * Gets the ring of key events.
+     *
+     * @return the ring of key events.
+     */
+    public InputEventRing getEventRing() {
+        return events;
     }
 
     @Override
@@ -203,17 +214,21 @@ public class JfxKeyInput extends JfxInput implements KeyInput {
         var character = keyEvent.getText();
         var keyChar = character.isEmpty() ? '\0' : character.charAt(0);
 
-        var event = new KeyInputEvent(code, keyChar, pressed, false);
-        event.setTime(getInputTimeNanos());
-
-        EXECUTOR.addToExecute(() -> keyInputEvents.add(event));
+        events.addReliable(code, keyChar, pressed ? 1 : 0, 0, 0, 0, 0, getInputTimeNanos());
     }
 
     @Override
     protected void updateImpl() {
+
         var listener = getListener();
-        while (!keyInputEvents.isEmpty()) {
-            listener.onKeyEvent(keyInputEvents.poll());
+        var events = this.events;
+
+        while (events.poll()) {
+
+            var event = new KeyInputEvent(events.getType(), (char) events.getValue(0), events.getValue(1) != 0, false);
+            event.setTime(events.getTime());
+
+            listener.onKeyEvent(event);
         }
     }
 
@@ -41,7 +41,6 @@ import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Region;
 
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 
 /**
@@ -67,12 +66,21 @@ public class JfxMouseInput extends JfxInput implements MouseInput {
      */
     private static final int WHEEL_SCALE = 10;
 
+    /**
+     * The types of records of mouse events.
+     */
+    private static final int TYPE_MOTION = 0;
+    private static final int TYPE_BUTTON = 1;
+
     private final EventHandler<MouseEvent> processMotion = this::processMotion;
     private final EventHandler<MouseEvent> processPressed = this::processPressed;
     private final EventHandler<MouseEvent> processReleased = this::processReleased;
     private final EventHandler<ScrollEvent> processScroll = this::processScroll;
-    private final LinkedList<MouseMotionEvent> mouseMotionEvents;
-    private final LinkedList<MouseButtonEvent> mouseButtonEvents;
+
+    /**
+     * The ring of mouse events from javaFX thread to jME thread, only motion events can be dropped.
+     */
+    private final InputEventRing events;
 
     private int mouseX;
     private int mouseY;
@@ -81,12 +89,48 @@ public class JfxMouseInput extends JfxInput implements MouseInput {
     private boolean useLocalCoords;
     private boolean inverseYCoord;
 
+    /**
+     * True if consecutive motion events of a frame are merged to one event.
+     */
+    private volatile boolean motionCoalescing;
+
+    /**
+     * The scales from the coordinates of the node to the coordinates of the frame.
+     */
+    private volatile float scaleX = 1F;
+    private volatile float scaleY = 1F;
+
     public JfxMouseInput(JmeOffscreenSurfaceContext context) {
         super(context);
-        // this.mouseMotionEvents = newLinkedList(MouseMotionEvent.class);
-        // this.mouseButtonEvents = newLinkedList(MouseButtonEvent.class);
-        this.mouseMotionEvents = new LinkedList<>();
-        this.mouseButtonEvents = new LinkedList<>();
+        this.events = new InputEventRing(InputEventRing.DEFAULT_CAPACITY, InputEventRing.OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Gets the ring of mouse events.
+     *
+     * @return the ring of mouse events.
+     */
+    public InputEventRing getEventRing() {
+        return events;
+    }
+
+    /**
+     * Checks of merging consecutive motion events of a frame.
+     *
+     * @return true if consecutive motion events are merged.
+     */
+    public boolean isMotionCoalescing() {
+        return motionCoalescing;
+    }
+
+    /**
+     * Sets the flag of merging consecutive motion events of a frame to one event with the last position and the
+     * sums of deltas, button events are never merged or reordered.
+     *
+     * @param motionCoalescing true to merge consecutive motion events.
+     */
+    public void setMotionCoalescing(boolean motionCoalescing) {
+        this.motionCoalescing = motionCoalescing;
     }
 
     @Override
@@ -124,13 +168,52 @@ public class JfxMouseInput extends JfxInput implements MouseInput {
     protected void updateImpl() {
 
         var listener = getListener();
+        var events = this.events;
+        var coalescing = isMotionCoalescing();
+
+        MouseMotionEvent pending = null;
+
+        while (events.poll()) {
+            if (events.getType() == TYPE_MOTION) {
+
+                var x = events.getValue(0);
+                var y = events.getValue(1);
+                var dx = events.getValue(2);
+                var dy = events.getValue(3);
+                var deltaWheel = events.getValue(5);
+
+                if (pending != null) {
+                    dx += pending.getDX();
+                    dy += pending.getDY();
+                    deltaWheel += pending.getDeltaWheel();
+                }
+
+                var event = new MouseMotionEvent(x, y, dx, dy, events.getValue(4), deltaWheel);
+                event.setTime(events.getTime());
+
+                if (coalescing) {
+                    pending = event;
+                } else {
+                    listener.onMouseMotionEvent(event);
+                }
 
-        while (!mouseMotionEvents.isEmpty()) {
-            listener.onMouseMotionEvent(mouseMotionEvents.poll());
+            } else {
+
+                if (pending != null) {
+                    listener.onMouseMotionEvent(pending);
+                    pending = null;
+                }
+
+                var event = new MouseButtonEvent(events.getValue(0), events.getValue(1) != 0,
+                        events.getValue(2), events.getValue(3));
+                event.setTime(events.getTime());
+
+                listener.onMouseButtonEvent(event);
+            }
         }
 
-        while (!mouseButtonEvents.isEmpty()) {
-            listener.onMouseButtonEvent(mouseButtonEvents.poll());
+        if (pending != null) {
+            listener.onMouseMotionEvent(pending);
         }
     }
 
@@ -178,10 +261,19 @@ public class JfxMouseInput extends JfxInput implements MouseInput {
 
         mouseWheel += yOffset;
 
-        var mouseMotionEvent = new MouseMotionEvent(mouseX, mouseY, 0, 0, mouseWheel, (int) Math.round(yOffset));
-        mouseMotionEvent.setTime(getInputTimeNanos());
+        events.add(TYPE_MOTION, mouseX, mouseY, 0, 0, mouseWheel, (int) Math.round(yOffset), getInputTimeNanos());
+    }
 
-        EXECUTOR.addToExecute(() -> mouseMotionEvents.add(mouseMotionEvent));
+    /**
+     * Sets the scales from the coordinates of the node to the coordinates of the frame, when the frame is rendered
+     * in another resolution than the size of the node.
+     *
+     * @param scaleX the scale of x coordinates.
+     * @param scaleY the scale of y coordinates.
+     */
+    public void setCoordinateScale(float scaleX, float scaleY) {
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
     }
 
     private void onCursorPos(double xpos, double ypos) {
@@ -189,19 +281,19 @@ public class JfxMouseInput extends JfxInput implements MouseInput {
         int xDelta;
         int yDelta;
 
-        int x = (int) Math.round(xpos);
+        int x = (int) Math.round(xpos * scaleX);
         int y = 0;
 
         if(inverseYCoord) {
             if (node instanceof Region) {
-                y = (int) Math.round(((Region) node).getHeight() - ypos);
+                y = (int) Math.round((((Region) node).getHeight() - ypos) * scaleY);
             } else if (node instanceof Canvas) {
-                y = (int) Math.round(((Canvas) node).getHeight() - ypos);
+                y = (int) Math.round((((Canvas) node).getHeight() - ypos) * scaleY);
             } else if (node instanceof ImageView) {
-                y = (int) Math.round(((ImageView) node).getFitHeight() - ypos);
+                y = (int) Math.round((((ImageView) node).getFitHeight() - ypos) * scaleY);
             }
         } else {
-            y = (int) Math.round(ypos);
+            y = (int) Math.round(ypos * scaleY);
         }
 
         if (mouseX == 0) mouseX = x;
@@ -217,18 +309,13 @@ public class JfxMouseInput extends JfxInput implements MouseInput {
             return;
         }
 
-        var mouseMotionEvent = new MouseMotionEvent(x, y, xDelta, yDelta, mouseWheel, 0);
-        mouseMotionEvent.setTime(getInputTimeNanos());
-
-        EXECUTOR.addToExecute(() -> mouseMotionEvents.add(mouseMotionEvent));
+        events.add(TYPE_MOTION, x, y, xDelta, yDelta, mouseWheel, 0, getInputTimeNanos());
     }
 
     private void onMouseButton(MouseButton button, boolean pressed) {
 
-        var mouseButtonEvent = new MouseButtonEvent(convertButton(button), pressed, mouseX, mouseY);
-        mouseButtonEvent.setTime(getInputTimeNanos());
-
-        EXECUTOR.addToExecute(() -> mouseButtonEvents.add(mouseButtonEvent));
+        events.addReliable(TYPE_BUTTON, convertButton(button), pressed ? 1 : 0, mouseX, mouseY, 0, 0,
+                getInputTimeNanos());
     }
 
     private int convertButton(MouseButton button) {
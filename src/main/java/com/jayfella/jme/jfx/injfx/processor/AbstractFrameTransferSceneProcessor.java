@@ -0,0 +1,744 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.processor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.jayfella.jme.jfx.injfx.JmeOffscreenSurfaceContext;
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransfer;
+import com.jayfella.jme.jfx.injfx.transfer.impl.AbstractFrameTransfer;
+import com.jme3.app.Application;
+import com.jme3.profile.AppProfiler;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue;
+import com.jme3.texture.FrameBuffer;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+
+/**
+ * The base implementation of scene processor for transferring frames from jME to javaFX.
+ * <p>
+ * The processor is bound to a javaFX node and a jME view port. The main processor renders the main view ports of
+ * the application and receives the input of the node, other processors render their view ports to own frame
+ * buffers, so several view ports can be shown in different nodes at the same time. The processor follows the
+ * size of the node and reads its frame back in the shared pass of {@link FrameTransferAppState}.
+ * <p>
+ * Changes of the size are debounced, the transfer is resized in place when the size is stable for the quiet
+ * period, until then the destination keeps the last frame.
+ * <p>
+ * Processors of destinations which scale their content can render frames in a lower resolution, the render scale
+ * is set directly or is driven by a {@link DynamicResolutionController}.
+ *
+ * @param <T> the destination's type.
+ * @author JavaSaBr
+ */
+public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implements FrameTransferSceneProcessor {
+
+    /**
+     * The default quiet period of resizing in milliseconds.
+     */
+    public static final int DEFAULT_RESIZE_QUIET_PERIOD = 150;
+
+    /**
+     * The listener of changing the size of the destination.
+     */
+    private final ChangeListener<Number> sizeListener = (observable, oldValue, newValue) -> notifyChangedSize();
+
+    /**
+     * The flag of requesting the reshape.
+     */
+    private final AtomicBoolean reshapeNeeded;
+
+    /**
+     * The flag of requesting a new frame transfer.
+     */
+    private final AtomicBoolean recreateNeeded;
+
+    /**
+     * The application.
+     */
+    protected volatile Application application;
+
+    /**
+     * The destination of frames, it's changed only by javaFX thread, so jME thread reads it once per use.
+     */
+    protected volatile T destination;
+
+    /**
+     * The node to receive the input for the main processor.
+     */
+    protected volatile Node inputNode;
+
+    /**
+     * The view port.
+     */
+    private volatile ViewPort viewPort;
+
+    /**
+     * The render manager.
+     */
+    private volatile RenderManager renderManager;
+
+    /**
+     * The frame transfer, it's changed only by jME thread.
+     */
+    private volatile FrameTransfer frameTransfer;
+
+    /**
+     * The transfer mode.
+     */
+    private volatile TransferMode transferMode;
+
+    /**
+     * The rate of frames in {@link TransferMode#FIXED_RATE} mode.
+     */
+    private volatile int fixedRate;
+
+    /**
+     * The controller of the render scale or null.
+     */
+    private volatile DynamicResolutionController resolutionController;
+
+    /**
+     * The scale of the size of frames to the size of the destination.
+     */
+    private volatile float renderScale;
+
+    /**
+     * The width to reshape.
+     */
+    private volatile int askWidth;
+
+    /**
+     * The height to reshape.
+     */
+    private volatile int askHeight;
+
+    /**
+     * The time of the last request of the reshape in nanoseconds.
+     */
+    private volatile long reshapeRequestTime;
+
+    /**
+     * The quiet period of resizing in milliseconds.
+     */
+    private volatile int resizeQuietPeriod;
+
+    /**
+     * True if this processor is main.
+     */
+    private volatile boolean main;
+
+    /**
+     * True if this processor is enabled.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * True if rendering of this processor is suspended, it's used only by jME thread.
+     */
+    private boolean suspended;
+
+    /**
+     * The enabled state of the view port before suspending, it's used only by jME thread.
+     */
+    private boolean viewPortEnabled;
+
+    /**
+     * True if the view port was rendered since the last readback, it's used only by jME thread.
+     */
+    private boolean frameRendered;
+
+    /**
+     * True if this processor is initialized.
+     */
+    private boolean initialized;
+
+    public AbstractFrameTransferSceneProcessor() {
+        this.reshapeNeeded = new AtomicBoolean();
+        this.recreateNeeded = new AtomicBoolean();
+        this.resizeQuietPeriod = DEFAULT_RESIZE_QUIET_PERIOD;
+        this.transferMode = TransferMode.ALWAYS;
+        this.fixedRate = AbstractFrameTransfer.DEFAULT_FIXED_RATE;
+        this.renderScale = 1F;
+        this.enabled = true;
+    }
+
+    /**
+     * Bind this processor as main to the destination, the destination receives the input.
+     *
+     * @param destination the destination.
+     * @param application the application.
+     */
+    public void bind(T destination, Application application) {
+        bind(destination, application, destination, application.getViewPort(), true);
+    }
+
+    /**
+     * Bind this processor as not main to the destination and the view port.
+     *
+     * @param destination the destination.
+     * @param application the application.
+     * @param viewPort    the view port.
+     */
+    public void bind(T destination, Application application, ViewPort viewPort) {
+        bind(destination, application, null, viewPort, false);
+    }
+
+    /**
+     * Bind this processor, it's called only by javaFX thread.
+     *
+     * @param destination the destination.
+     * @param application the application.
+     * @param inputNode   the node to receive the input for the main processor or null.
+     * @param viewPort    the view port.
+     * @param main        true if this processor is main.
+     */
+    public void bind(T destination, Application application, Node inputNode, ViewPort viewPort, boolean main) {
+
+        if (hasDestination()) {
+            throw new IllegalStateException("This processor is already bound.");
+        }
+
+        this.application = application;
+        this.destination = destination;
+        this.inputNode = inputNode;
+        this.viewPort = viewPort;
+        this.main = main;
+
+        bindListeners();
+        notifyChangedSize();
+
+        var context = application.getContext();
+
+        if (main && inputNode != null && context instanceof JmeOffscreenSurfaceContext) {
+            var surfaceContext = (JmeOffscreenSurfaceContext) context;
+            surfaceContext.getMouseInput().bind(inputNode);
+            surfaceContext.getKeyInput().bind(inputNode);
+        }
+
+        application.enqueue(() -> {
+            viewPort.addProcessor(this);
+            FrameTransferAppState.getInstance(application.getStateManager()).register(this);
+        });
+    }
+
+    /**
+     * Unbind this processor from its destination, it's called only by javaFX thread.
+     */
+    public void unbind() {
+
+        if (!hasDestination()) {
+            return;
+        }
+
+        unbindListeners();
+
+        var application = this.application;
+        var viewPort = this.viewPort;
+        var context = application.getContext();
+
+        if (isMain() && inputNode != null && context instanceof JmeOffscreenSurfaceContext) {
+            var surfaceContext = (JmeOffscreenSurfaceContext) context;
+            surfaceContext.getMouseInput().unbind();
+            surfaceContext.getKeyInput().unbind();
+        }
+
+        application.enqueue(() -> {
+            FrameTransferAppState.getInstance(application.getStateManager()).unregister(this);
+            viewPort.removeProcessor(this);
+        });
+
+        this.destination = null;
+        this.inputNode = null;
+    }
+
+    /**
+     * Bind the listeners of the size of the destination.
+     */
+    protected abstract void bindListeners();
+
+    /**
+     * Unbind the listeners of the size of the destination.
+     */
+    protected abstract void unbindListeners();
+
+    /**
+     * Gets the listener of changing the size of the destination.
+     *
+     * @return the size listener.
+     */
+    protected ChangeListener<Number> getSizeListener() {
+        return sizeListener;
+    }
+
+    /**
+     * Gets the width of the destination, it's called only by javaFX thread.
+     *
+     * @return the width of the destination.
+     */
+    protected abstract int getDestinationWidth();
+
+    /**
+     * Gets the height of the destination, it's called only by javaFX thread.
+     *
+     * @return the height of the destination.
+     */
+    protected abstract int getDestinationHeight();
+
+    /**
+     * Handle changing the size of the destination.
+     */
+    protected void notifyChangedSize() {
+
+        if (!hasDestination()) {
+            return;
+        }
+
+        askWidth = Math.max(getDestinationWidth(), 1);
+        askHeight = Math.max(getDestinationHeight(), 1);
+        reshape();
+    }
+
+    /**
+     * Create a new frame transfer.
+     *
+     * @param destination the destination.
+     * @param frameBuffer the frame buffer or null to create a resizable frame buffer by the transfer.
+     * @param width       the width.
+     * @param height      the height.
+     * @return the new frame transfer.
+     */
+    protected abstract FrameTransfer createFrameTransfer(
+            T destination,
+            FrameBuffer frameBuffer,
+            int width,
+            int height
+    );
+
+    /**
+     * Checks of existing the destination.
+     *
+     * @return true if the destination is exist.
+     */
+    protected boolean hasDestination() {
+        return destination != null;
+    }
+
+    /**
+     * Gets the destination.
+     *
+     * @return the destination.
+     */
+    protected T getDestination() {
+        return destination;
+    }
+
+    /**
+     * Gets the view port.
+     *
+     * @return the view port.
+     */
+    protected ViewPort getViewPort() {
+        return viewPort;
+    }
+
+    /**
+     * Gets the render manager.
+     *
+     * @return the render manager.
+     */
+    protected RenderManager getRenderManager() {
+        return renderManager;
+    }
+
+    /**
+     * Gets the current frame transfer, it's called only by jME thread.
+     *
+     * @return the current frame transfer or null.
+     */
+    protected FrameTransfer getFrameTransfer() {
+        return frameTransfer;
+    }
+
+    @Override
+    public boolean isMain() {
+        return main;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reshape() {
+        reshapeRequestTime = System.nanoTime();
+        reshapeNeeded.set(true);
+    }
+
+    /**
+     * Gets the quiet period of resizing.
+     *
+     * @return the quiet period in milliseconds.
+     */
+    public int getResizeQuietPeriod() {
+        return resizeQuietPeriod;
+    }
+
+    /**
+     * Sets the quiet period of resizing, the transfer is resized when the size of the destination isn't changed
+     * for this period.
+     *
+     * @param resizeQuietPeriod the quiet period in milliseconds, 0 to resize immediately.
+     */
+    public void setResizeQuietPeriod(int resizeQuietPeriod) {
+        this.resizeQuietPeriod = Math.max(0, resizeQuietPeriod);
+    }
+
+    /**
+     * Checks of supporting the render scale, the destination should scale frames to its size.
+     *
+     * @return true if frames can be rendered in a lower resolution than the size of the destination.
+     */
+    protected boolean isRenderScaleSupported() {
+        return false;
+    }
+
+    /**
+     * Gets the scale of the size of frames to the size of the destination.
+     *
+     * @return the render scale.
+     */
+    public float getRenderScale() {
+        return renderScale;
+    }
+
+    /**
+     * Sets the scale of the size of frames to the size of the destination, it's ignored if the destination
+     * doesn't support scaling.
+     *
+     * @param renderScale the render scale from 0.1 to 1.
+     */
+    public void setRenderScale(float renderScale) {
+
+        renderScale = Math.max(0.1F, Math.min(1F, renderScale));
+
+        if (renderScale == this.renderScale) {
+            return;
+        }
+
+        this.renderScale = renderScale;
+
+        if (isRenderScaleSupported()) {
+            reshape();
+        }
+    }
+
+    /**
+     * Gets the controller of the render scale.
+     *
+     * @return the controller or null.
+     */
+    public DynamicResolutionController getResolutionController() {
+        return resolutionController;
+    }
+
+    /**
+     * Sets the controller of the render scale, the controller lowers the render scale when transferring frames
+     * exceeds its budget.
+     *
+     * @param resolutionController the controller or null to render in the full resolution.
+     */
+    public void setResolutionController(DynamicResolutionController resolutionController) {
+
+        if (resolutionController != null) {
+            resolutionController.reset();
+        }
+
+        this.resolutionController = resolutionController;
+        setRenderScale(1F);
+    }
+
+    @Override
+    public TransferMode getTransferMode() {
+        return transferMode;
+    }
+
+    @Override
+    public void setTransferMode(TransferMode transferMode) {
+        this.transferMode = transferMode;
+        recreateNeeded.set(true);
+        reshapeNeeded.set(true);
+    }
+
+    @Override
+    public int getFixedRate() {
+        return fixedRate;
+    }
+
+    @Override
+    public void setFixedRate(int fixedRate) {
+
+        this.fixedRate = Math.max(1, fixedRate);
+
+        var frameTransfer = this.frameTransfer;
+
+        if (frameTransfer != null) {
+            frameTransfer.setFixedRate(this.fixedRate);
+        }
+    }
+
+    @Override
+    public void requestFrame() {
+
+        var frameTransfer = this.frameTransfer;
+
+        if (frameTransfer != null) {
+            frameTransfer.requestFrame();
+        }
+    }
+
+    @Override
+    public void initialize(RenderManager renderManager, ViewPort viewPort) {
+        this.renderManager = renderManager;
+        this.initialized = true;
+    }
+
+    @Override
+    public void reshape(ViewPort viewPort, int width, int height) {
+        // the size follows the destination
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @Override
+    public void preFrame(float tpf) {
+
+        if (!reshapeNeeded.get() || !hasDestination()) {
+            return;
+        }
+
+        final long quietPeriod = resizeQuietPeriod * 1_000_000L;
+
+        if (frameTransfer != null && !recreateNeeded.get()
+                && System.nanoTime() - reshapeRequestTime < quietPeriod) {
+            return;
+        }
+
+        reshapeNeeded.set(false);
+
+        final int width = askWidth;
+        final int height = askHeight;
+        final float scale = isRenderScaleSupported() ? renderScale : 1F;
+
+        if (scale == 1F) {
+            reshapeInThread(width, height);
+        } else {
+            reshapeInThread(Math.max(Math.round(width * scale), 1), Math.max(Math.round(height * scale), 1));
+        }
+
+        updateInputScale(width, height);
+    }
+
+    /**
+     * Updates the scale of coordinates of the mouse input by the size of frames.
+     *
+     * @param width  the width of the destination.
+     * @param height the height of the destination.
+     */
+    private void updateInputScale(int width, int height) {
+
+        if (!isMain() || frameTransfer == null) {
+            return;
+        }
+
+        var context = application.getContext();
+
+        if (context instanceof JmeOffscreenSurfaceContext) {
+            ((JmeOffscreenSurfaceContext) context).getMouseInput().setCoordinateScale(
+                    frameTransfer.getWidth() / (float) width,
+                    frameTransfer.getHeight() / (float) height
+            );
+        }
+    }
+
+    @Override
+    public void postQueue(RenderQueue renderQueue) {
+    }
+
+    @Override
+    public void postFrame(FrameBuffer out) {
+        frameRendered = isEnabled() && frameTransfer != null;
+    }
+
+    /**
+     * Suspends or resumes rendering of this processor, it's called only by jME thread. The view port of a not main
+     * processor is disabled while suspended, the main view ports aren't rendered by the suspended context. A new
+     * frame is requested after resuming.
+     *
+     * @param suspended true to suspend rendering.
+     */
+    void setSuspended(boolean suspended) {
+
+        if (this.suspended == suspended) {
+            return;
+        }
+
+        this.suspended = suspended;
+
+        if (!isMain()) {
+            if (suspended) {
+                viewPortEnabled = viewPort.isEnabled();
+                viewPort.setEnabled(false);
+            } else {
+                viewPort.setEnabled(viewPortEnabled);
+            }
+        }
+
+        if (suspended) {
+            frameRendered = false;
+        } else {
+            requestFrame();
+        }
+    }
+
+    /**
+     * Reads the rendered frame back to the destination, it's called only by jME thread in the pass of
+     * {@link FrameTransferAppState} after rendering of all view ports.
+     */
+    void transferFrame() {
+
+        if (!frameRendered) {
+            return;
+        }
+
+        frameRendered = false;
+        frameTransfer.copyFrameBufferToImage(renderManager);
+
+        var resolutionController = this.resolutionController;
+
+        if (resolutionController != null && isRenderScaleSupported()) {
+            setRenderScale(resolutionController.update(frameTransfer.getStats()));
+        }
+    }
+
+    /**
+     * Reshape the frame transfer and the camera, it's called only by jME thread.
+     *
+     * @param width  the new width.
+     * @param height the new height.
+     */
+    protected void reshapeInThread(int width, int height) {
+
+        if (recreateNeeded.getAndSet(false) && frameTransfer != null) {
+            frameTransfer.dispose();
+            frameTransfer = null;
+        }
+
+        if (frameTransfer == null) {
+
+            var destination = this.destination;
+
+            if (destination == null) {
+                return;
+            }
+
+            frameTransfer = createFrameTransfer(destination, null, width, height);
+            frameTransfer.setReleaseExecutor(application::enqueue);
+            frameTransfer.setFixedRate(fixedRate);
+
+            // the processor was unbound or bound again by javaFX thread while creating the transfer
+            if (this.destination != destination) {
+                frameTransfer.dispose();
+                frameTransfer = null;
+                reshapeNeeded.set(true);
+                return;
+            }
+
+        } else {
+            frameTransfer.resize(width, height);
+        }
+
+        frameRendered = false;
+        frameTransfer.initFor(renderManager.getRenderer(), isMain());
+
+        if (isMain()) {
+
+            var context = application.getContext();
+
+            if (context instanceof JmeOffscreenSurfaceContext) {
+                ((JmeOffscreenSurfaceContext) context).setWidth(width);
+                ((JmeOffscreenSurfaceContext) context).setHeight(height);
+            }
+
+            renderManager.notifyReshape(width, height);
+
+        } else {
+            final Camera camera = viewPort.getCamera();
+            viewPort.setOutputFrameBuffer(frameTransfer.getFrameBuffer());
+            camera.resize(width, height, true);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+
+        if (!initialized) {
+            return;
+        }
+
+        if (isMain()) {
+            renderManager.getRenderer().setMainFrameBufferOverride(null);
+        } else {
+            viewPort.setOutputFrameBuffer(null);
+        }
+
+        if (frameTransfer != null) {
+            frameTransfer.dispose();
+            frameTransfer = null;
+        }
+
+        frameRendered = false;
+        initialized = false;
+    }
+
+    @Override
+    public void setProfiler(AppProfiler profiler) {
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.processor;
+
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransfer;
+import com.jayfella.jme.jfx.injfx.transfer.impl.CanvasFrameTransfer;
+import com.jme3.texture.FrameBuffer;
+
+import javafx.scene.canvas.Canvas;
+
+/**
+ * The implementation of the {@link FrameTransferSceneProcessor} for transferring content to {@link Canvas}.
+ * The size of frames follows the size of the canvas.
+ *
+ * @author JavaSaBr
+ */
+public class CanvasFrameTransferSceneProcessor extends AbstractFrameTransferSceneProcessor<Canvas> {
+
+    @Override
+    protected void bindListeners() {
+        var canvas = getDestination();
+        canvas.widthProperty().addListener(getSizeListener());
+        canvas.heightProperty().addListener(getSizeListener());
+    }
+
+    @Override
+    protected void unbindListeners() {
+        var canvas = getDestination();
+        canvas.widthProperty().removeListener(getSizeListener());
+        canvas.heightProperty().removeListener(getSizeListener());
+    }
+
+    @Override
+    protected int getDestinationWidth() {
+        return (int) Math.round(getDestination().getWidth());
+    }
+
+    @Override
+    protected int getDestinationHeight() {
+        return (int) Math.round(getDestination().getHeight());
+    }
+
+    @Override
+    protected FrameTransfer createFrameTransfer(
+            Canvas destination,
+            FrameBuffer frameBuffer,
+            int width,
+            int height
+    ) {
+        return new CanvasFrameTransfer(destination, getTransferMode(), frameBuffer, width, height);
+    }
+}
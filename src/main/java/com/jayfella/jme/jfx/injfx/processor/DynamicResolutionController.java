@@ -0,0 +1,263 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.processor;
+
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransferStats;
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransferStats.Stage;
+
+/**
+ * The controller of the render scale of a frame transfer processor by the time budget of transferring frames.
+ * <p>
+ * The controller samples the time of all stages of the transfer per read back frame, including the writing by
+ * javaFX thread. When the average time of a sample exceeds the budget the render scale is lowered, when the time
+ * is well below the budget the scale is raised again. The destination upscales the smaller frames, so the cost of
+ * the transfer follows the count of rendered pixels instead of the size of the destination.
+ *
+ * @author JavaSaBr
+ */
+public class DynamicResolutionController {
+
+    /**
+     * The default budget of transferring a frame in milliseconds.
+     */
+    public static final float DEFAULT_BUDGET = 6F;
+
+    /**
+     * The default min render scale.
+     */
+    public static final float DEFAULT_MIN_SCALE = 0.5F;
+
+    /**
+     * The default count of read back frames in one sample.
+     */
+    public static final int DEFAULT_SAMPLE_FRAMES = 30;
+
+    /**
+     * The factor of lowering the scale.
+     */
+    private static final float SCALE_DOWN = 0.85F;
+
+    /**
+     * The factor of raising the scale.
+     */
+    private static final float SCALE_UP = 1.1F;
+
+    /**
+     * The part of the budget which must be free to raise the scale.
+     */
+    private static final float HEADROOM = 0.6F;
+
+    /**
+     * The step of scales, small changes of the scale don't resize frames.
+     */
+    private static final float SCALE_STEP = 1F / 32F;
+
+    private static final Stage[] STAGES = Stage.values();
+
+    /**
+     * The budget of transferring a frame in nanoseconds.
+     */
+    private volatile long budgetNanos;
+
+    /**
+     * The min render scale.
+     */
+    private volatile float minScale;
+
+    /**
+     * The count of read back frames in one sample.
+     */
+    private volatile int sampleFrames;
+
+    /**
+     * The average time of transferring a frame in the last sample in nanoseconds.
+     */
+    private volatile long frameNanos;
+
+    /**
+     * The current render scale.
+     */
+    private volatile float scale;
+
+    /**
+     * The stats of the sampled transfer, it's used only by jME thread.
+     */
+    private FrameTransferStats sampledStats;
+
+    /**
+     * The count of read back frames at the start of the sample, it's used only by jME thread.
+     */
+    private long sampleStartCount;
+
+    /**
+     * The total time of stages at the start of the sample, it's used only by jME thread.
+     */
+    private long sampleStartNanos;
+
+    public DynamicResolutionController() {
+        this.budgetNanos = (long) (DEFAULT_BUDGET * 1_000_000L);
+        this.minScale = DEFAULT_MIN_SCALE;
+        this.sampleFrames = DEFAULT_SAMPLE_FRAMES;
+        this.scale = 1F;
+    }
+
+    /**
+     * Updates the render scale by the stats of the transfer, it's called only by jME thread after reading frames
+     * back.
+     *
+     * @param stats the stats of the current transfer.
+     * @return the render scale.
+     */
+    public float update(FrameTransferStats stats) {
+
+        final long count = stats.getCount(Stage.READBACK);
+        final long nanos = getTotalNanos(stats);
+
+        if (stats != sampledStats || count < sampleStartCount) {
+            sampledStats = stats;
+            sampleStartCount = count;
+            sampleStartNanos = nanos;
+            return scale;
+        }
+
+        final long frames = count - sampleStartCount;
+
+        if (frames < sampleFrames) {
+            return scale;
+        }
+
+        final long averageNanos = (nanos - sampleStartNanos) / frames;
+        final long budget = budgetNanos;
+
+        sampleStartCount = count;
+        sampleStartNanos = nanos;
+        frameNanos = averageNanos;
+
+        if (averageNanos > budget) {
+            scale = Math.max(minScale, quantize(scale * SCALE_DOWN));
+        } else if (averageNanos < budget * HEADROOM) {
+            scale = Math.min(1F, quantize(scale * SCALE_UP));
+        }
+
+        return scale;
+    }
+
+    /**
+     * Resets the render scale to 1.
+     */
+    public void reset() {
+        scale = 1F;
+        sampledStats = null;
+    }
+
+    private static long getTotalNanos(FrameTransferStats stats) {
+
+        long nanos = 0;
+
+        for (final Stage stage : STAGES) {
+            nanos += stats.getTotalNanos(stage);
+        }
+
+        return nanos;
+    }
+
+    private static float quantize(float scale) {
+        return Math.round(scale / SCALE_STEP) * SCALE_STEP;
+    }
+
+    /**
+     * Gets the budget of transferring a frame.
+     *
+     * @return the budget in milliseconds.
+     */
+    public float getBudget() {
+        return budgetNanos / 1_000_000F;
+    }
+
+    /**
+     * Sets the budget of transferring a frame, it includes the time of jME thread and javaFX thread.
+     *
+     * @param budget the budget in milliseconds.
+     */
+    public void setBudget(float budget) {
+        this.budgetNanos = (long) (Math.max(0.1F, budget) * 1_000_000L);
+    }
+
+    /**
+     * Gets the min render scale.
+     *
+     * @return the min render scale.
+     */
+    public float getMinScale() {
+        return minScale;
+    }
+
+    /**
+     * Sets the min render scale.
+     *
+     * @param minScale the min render scale from 0.1 to 1.
+     */
+    public void setMinScale(float minScale) {
+        this.minScale = Math.max(0.1F, Math.min(1F, minScale));
+    }
+
+    /**
+     * Gets the count of read back frames in one sample.
+     *
+     * @return the count of frames.
+     */
+    public int getSampleFrames() {
+        return sampleFrames;
+    }
+
+    /**
+     * Sets the count of read back frames in one sample.
+     *
+     * @param sampleFrames the count of frames.
+     */
+    public void setSampleFrames(int sampleFrames) {
+        this.sampleFrames = Math.max(1, sampleFrames);
+    }
+
+    /**
+     * Gets the average time of transferring a frame in the last sample.
+     *
+     * @return the time in milliseconds.
+     */
+    public float getFrameTime() {
+        return frameNanos / 1_000_000F;
+    }
+
+    /**
+     * Gets the current render scale.
+     *
+     * @return the render scale.
+     */
+    public float getScale() {
+        return scale;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jayfella.jme.jfx.injfx.JmeOffscreenSurfaceContext;
+import com.jme3.app.Application;
+import com.jme3.app.state.AppStateManager;
+import com.jme3.app.state.BaseAppState;
+
+/**
+ * The state which reads frames of all bound frame transfer processors back in one pass per frame.
+ * <p>
+ * The pass runs after rendering of all view ports, so the render thread waits for the GPU once per frame instead
+ * of interleaving every readback with rendering of the next view port. The state is attached by the first bound
+ * processor.
+ * <p>
+ * While the {@link JmeOffscreenSurfaceContext} is suspended the state disables the view ports of processors with
+ * own frame buffers and skips the readback pass, the main view ports aren't rendered by the suspended context.
+ *
+ * @author JavaSaBr
+ */
+public class FrameTransferAppState extends BaseAppState {
+
+    /**
+     * Gets the state of the application or attaches a new one, it's called only by jME thread.
+     *
+     * @param stateManager the state manager of the application.
+     * @return the state.
+     */
+    public static FrameTransferAppState getInstance(AppStateManager stateManager) {
+
+        var state = stateManager.getState(FrameTransferAppState.class);
+
+        if (state == null) {
+            state = new FrameTransferAppState();
+            stateManager.attach(state);
+        }
+
+        return state;
+    }
+
+    /**
+     * The bound processors, it's used only by jME thread.
+     */
+    private final List<AbstractFrameTransferSceneProcessor<?>> processors;
+
+    /**
+     * True if the context is suspended, it's used only by jME thread.
+     */
+    private boolean suspended;
+
+    public FrameTransferAppState() {
+        this.processors = new ArrayList<>();
+    }
+
+    /**
+     * Registers the processor to the readback pass.
+     *
+     * @param processor the processor.
+     */
+    void register(AbstractFrameTransferSceneProcessor<?> processor) {
+        if (!processors.contains(processor)) {
+            processors.add(processor);
+            processor.setSuspended(suspended);
+        }
+    }
+
+    /**
+     * Unregisters the processor from the readback pass.
+     *
+     * @param processor the processor.
+     */
+    void unregister(AbstractFrameTransferSceneProcessor<?> processor) {
+        if (processors.remove(processor)) {
+            processor.setSuspended(false);
+        }
+    }
+
+    /**
+     * Gets the count of registered processors.
+     *
+     * @return the count of processors.
+     */
+    public int getProcessorCount() {
+        return processors.size();
+    }
+
+    @Override
+    protected void initialize(Application app) {
+    }
+
+    @Override
+    protected void cleanup(Application app) {
+        processors.clear();
+    }
+
+    @Override
+    protected void onEnable() {
+    }
+
+    @Override
+    protected void onDisable() {
+    }
+
+    @Override
+    public void update(float tpf) {
+
+        var context = getApplication().getContext();
+        var suspended = context instanceof JmeOffscreenSurfaceContext
+                && ((JmeOffscreenSurfaceContext) context).isSuspended();
+
+        if (suspended == this.suspended) {
+            return;
+        }
+
+        this.suspended = suspended;
+
+        for (int i = 0, size = processors.size(); i < size; i++) {
+            processors.get(i).setSuspended(suspended);
+        }
+    }
+
+    @Override
+    public void postRender() {
+
+        if (suspended) {
+            return;
+        }
+
+        for (int i = 0, size = processors.size(); i < size; i++) {
+            processors.get(i).transferFrame();
+        }
+    }
+}
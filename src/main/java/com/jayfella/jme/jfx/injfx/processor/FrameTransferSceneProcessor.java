@@ -36,8 +36,26 @@ import com.jme3.post.SceneProcessor;
 public interface FrameTransferSceneProcessor extends SceneProcessor {
 
     enum TransferMode {
+
+        /**
+         * Every frame is read back and written whole.
+         */
         ALWAYS,
-        ON_CHANGES
+
+        /**
+         * Every frame is read back and only its changed parts are written.
+         */
+        ON_CHANGES,
+
+        /**
+         * Frames are read back at the fixed rate and only their changed parts are written.
+         */
+        FIXED_RATE,
+
+        /**
+         * One frame is read back per request and only its changed parts are written.
+         */
+        ON_DEMAND
     }
 
     /**
@@ -79,4 +97,23 @@ public interface FrameTransferSceneProcessor extends SceneProcessor {
      * @param transferMode the transfer mode.
      */
     void setTransferMode(TransferMode transferMode);
+
+    /**
+     * Gets the rate of frames in {@link TransferMode#FIXED_RATE} mode.
+     *
+     * @return the rate in frames per second.
+     */
+    int getFixedRate();
+
+    /**
+     * Sets the rate of frames in {@link TransferMode#FIXED_RATE} mode.
+     *
+     * @param fixedRate the rate in frames per second.
+     */
+    void setFixedRate(int fixedRate);
+
+    /**
+     * Requests one frame in {@link TransferMode#ON_DEMAND} mode, it can be called by any thread.
+     */
+    void requestFrame();
 }
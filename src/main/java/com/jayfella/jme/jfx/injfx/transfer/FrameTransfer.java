@@ -26,8 +26,11 @@
  */
 package com.jayfella.jme.jfx.injfx.transfer;
 
+import java.util.concurrent.Executor;
+
 import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.Renderer;
+import com.jme3.texture.FrameBuffer;
 
 /**
  * The class for transferring content from a jME frame buffer to somewhere.
@@ -45,6 +48,43 @@ public interface FrameTransfer {
     default void initFor(Renderer renderer, boolean main) {
     }
 
+    /**
+     * Sets the executor of jME thread to release the resources of this transfer when it's disposed while javaFX
+     * thread is writing a frame, e.g. {@code application::enqueue}.
+     *
+     * @param releaseExecutor the executor of jME thread.
+     */
+    default void setReleaseExecutor(Executor releaseExecutor) {
+    }
+
+    /**
+     * Gets the frame buffer to render frames, it's changed by resizing.
+     *
+     * @return the frame buffer.
+     */
+    FrameBuffer getFrameBuffer();
+
+    /**
+     * Resize this transfer in place, it's called only by jME thread. The frame buffer is changed, so this transfer
+     * should be inited for the render again.
+     *
+     * @param width  the new width.
+     * @param height the new height.
+     */
+    void resize(int width, int height);
+
+    /**
+     * Sets the rate of frames in fixed rate mode.
+     *
+     * @param fixedRate the rate in frames per second.
+     */
+    void setFixedRate(int fixedRate);
+
+    /**
+     * Requests one frame in on demand mode, it can be called by any thread.
+     */
+    void requestFrame();
+
     /**
      * Gets the width.
      *
@@ -66,6 +106,13 @@ public interface FrameTransfer {
      */
     void copyFrameBufferToImage(RenderManager renderManager);
 
+    /**
+     * Gets the timings of the stages of this transfer.
+     *
+     * @return the timings of the stages.
+     */
+    FrameTransferStats getStats();
+
     /**
      * Dispose this transfer.
      */
@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.transfer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The timings of the stages of a frame transfer.
+ * <p>
+ * Every stage is recorded by one thread, the stages of the render thread and javaFX thread can be read by any
+ * thread at any time.
+ *
+ * @author JavaSaBr
+ */
+public final class FrameTransferStats {
+
+    /**
+     * The stages of a frame transfer.
+     */
+    public enum Stage {
+
+        /**
+         * Reading the frame back from the frame buffer, it's done by jME thread.
+         */
+        READBACK,
+
+        /**
+         * Finding the changed parts of the frame, it's done by jME thread.
+         */
+        DETECT,
+
+        /**
+         * Converting the pixels for javaFX, it's done by jME thread or a worker pool.
+         */
+        CONVERT,
+
+        /**
+         * Handing the changed parts over to javaFX thread, it's done by jME thread.
+         */
+        STAGE,
+
+        /**
+         * Writing the changed parts to the destination, it's done by javaFX thread.
+         */
+        WRITE
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    /**
+     * The counts of recorded stages.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(STAGES.length);
+
+    /**
+     * The total time of stages in nanoseconds.
+     */
+    private final AtomicLongArray totalNanos = new AtomicLongArray(STAGES.length);
+
+    /**
+     * The max time of stages in nanoseconds.
+     */
+    private final AtomicLongArray maxNanos = new AtomicLongArray(STAGES.length);
+
+    /**
+     * The count of frames which were overwritten before writing to the destination.
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * The count of tasks of javaFX thread which wrote frames.
+     */
+    private final AtomicLong writeTaskCount = new AtomicLong();
+
+    /**
+     * The count of frames which were covered by tasks of javaFX thread.
+     */
+    private final AtomicLong coveredFrameCount = new AtomicLong();
+
+    /**
+     * The max count of frames which were covered by one task of javaFX thread.
+     */
+    private final AtomicLong maxCoveredFrameCount = new AtomicLong();
+
+    /**
+     * Records the time of the stage.
+     *
+     * @param stage the stage.
+     * @param nanos the time of the stage in nanoseconds.
+     */
+    public void record(final Stage stage, final long nanos) {
+        final int index = stage.ordinal();
+        counts.incrementAndGet(index);
+        totalNanos.addAndGet(index, nanos);
+        maxNanos.accumulateAndGet(index, nanos, Math::max);
+    }
+
+    /**
+     * Records a frame which was overwritten before writing to the destination.
+     */
+    public void recordDropped() {
+        droppedCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the count of frames which were overwritten before writing to the destination.
+     *
+     * @return the count of dropped frames.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Records a task of javaFX thread which covered the frames.
+     *
+     * @param frames the count of frames which were published since the previous task.
+     */
+    public void recordCovered(final long frames) {
+        writeTaskCount.incrementAndGet();
+        coveredFrameCount.addAndGet(frames);
+        maxCoveredFrameCount.accumulateAndGet(frames, Math::max);
+    }
+
+    /**
+     * Gets the count of tasks of javaFX thread which wrote frames.
+     *
+     * @return the count of tasks.
+     */
+    public long getWriteTaskCount() {
+        return writeTaskCount.get();
+    }
+
+    /**
+     * Gets the count of frames which were covered by tasks of javaFX thread.
+     *
+     * @return the count of covered frames.
+     */
+    public long getCoveredFrameCount() {
+        return coveredFrameCount.get();
+    }
+
+    /**
+     * Gets the max count of frames which were covered by one task of javaFX thread.
+     *
+     * @return the max count of covered frames.
+     */
+    public long getMaxCoveredFrameCount() {
+        return maxCoveredFrameCount.get();
+    }
+
+    /**
+     * Gets the count of recorded stages.
+     *
+     * @param stage the stage.
+     * @return the count of recorded stages.
+     */
+    public long getCount(final Stage stage) {
+        return counts.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the total time of the stage.
+     *
+     * @param stage the stage.
+     * @return the total time in nanoseconds.
+     */
+    public long getTotalNanos(final Stage stage) {
+        return totalNanos.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the max time of the stage.
+     *
+     * @param stage the stage.
+     * @return the max time in nanoseconds.
+     */
+    public long getMaxNanos(final Stage stage) {
+        return maxNanos.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the average time of the stage.
+     *
+     * @param stage the stage.
+     * @return the average time in nanoseconds or 0 if the stage wasn't recorded.
+     */
+    public long getAverageNanos(final Stage stage) {
+        final long count = getCount(stage);
+        return count == 0 ? 0 : getTotalNanos(stage) / count;
+    }
+
+    /**
+     * Resets all timings.
+     */
+    public void reset() {
+        for (int i = 0; i < STAGES.length; i++) {
+            counts.set(i, 0);
+            totalNanos.set(i, 0);
+            maxNanos.set(i, 0);
+        }
+
+        droppedCount.set(0);
+        writeTaskCount.set(0);
+        coveredFrameCount.set(0);
+        maxCoveredFrameCount.set(0);
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder builder = new StringBuilder("FrameTransferStats{");
+
+        for (final Stage stage : STAGES) {
+
+            if (stage.ordinal() > 0) {
+                builder.append(", ");
+            }
+
+            builder.append(stage.name().toLowerCase())
+                    .append('=').append(getCount(stage))
+                    .append(" x ").append(getAverageNanos(stage) / 1000).append("us")
+                    .append(" (max ").append(getMaxNanos(stage) / 1000).append("us)");
+        }
+
+        return builder.append(", dropped=").append(getDroppedCount())
+                .append(", writeTasks=").append(getWriteTaskCount())
+                .append(", coveredFrames=").append(getCoveredFrameCount())
+                .append(" (max ").append(getMaxCoveredFrameCount()).append(")}")
+                .toString();
+    }
+}
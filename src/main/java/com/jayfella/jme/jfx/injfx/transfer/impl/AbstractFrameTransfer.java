@@ -28,58 +28,120 @@ package com.jayfella.jme.jfx.injfx.transfer.impl;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import com.jayfella.jme.jfx.injfx.processor.FrameTransferSceneProcessor.TransferMode;
 import com.jayfella.jme.jfx.injfx.transfer.FrameTransfer;
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransferStats;
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransferStats.Stage;
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.jayfella.jme.jfx.util.FrameTiles;
 import com.jayfella.jme.jfx.util.JfxPlatform;
+import com.jayfella.jme.jfx.util.PixelSwizzle;
 import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.Renderer;
 import com.jme3.texture.FrameBuffer;
 import com.jme3.texture.FrameBuffer.FrameBufferTarget;
 import com.jme3.texture.Image;
-import com.jme3.util.BufferUtils;
 
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 
 /**
  * The base implementation of a frame transfer.
+ * <p>
+ * jME thread reads frames back and publishes them to a latest-wins {@link FrameMailbox}, javaFX thread takes the
+ * newest frame and writes the tiles which were changed since its previous frame. Neither thread waits for the
+ * other, frames which javaFX thread didn't take in time are dropped and counted in the stats. The transfer is
+ * disposed by the last thread which leaves it, javaFX thread hands the disposing over to jME thread by the release
+ * executor.
+ * <p>
+ * The transfer can be resized in place, the buffers are reused while they are large enough and the destination is
+ * resized by javaFX thread only when the first frame of the new size is written, so the destination keeps the last
+ * frame until then.
  *
  * @param <T> the destination's type.
  * @author JavaSaBr
  */
 public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
 
-    protected static final int RUNNING_STATE = 1;
-    protected static final int WAITING_STATE = 2;
-    protected static final int DISPOSING_STATE = 3;
-    protected static final int DISPOSED_STATE = 4;
+    /**
+     * The flag of the state which is set by disposing.
+     */
+    private static final int DISPOSING_FLAG = 1 << 30;
+
+    /**
+     * The state after releasing the resources.
+     */
+    private static final int DISPOSED_STATE = DISPOSING_FLAG | 1 << 29;
+
+    /**
+     * The min count of pixels to convert by the common pool instead of jME thread.
+     */
+    protected static final int PARALLEL_CONVERT_PIXELS = 1 << 21;
+
+    /**
+     * The default rate of frames in {@link TransferMode#FIXED_RATE} mode.
+     */
+    public static final int DEFAULT_FIXED_RATE = 10;
+
+    /**
+     * The count of threads inside the transfer and the disposing flag.
+     */
+    private final AtomicInteger state;
+
+    /**
+     * The flag of requesting a frame in {@link TransferMode#ON_DEMAND} mode.
+     */
+    private final AtomicBoolean frameRequested;
+
+    /**
+     * The period of frames in {@link TransferMode#FIXED_RATE} mode in nanoseconds.
+     */
+    private volatile long fixedPeriod;
+
+    /**
+     * The time of the next frame in {@link TransferMode#FIXED_RATE} mode, it's used only by jME thread.
+     */
+    private long nextFrameTime;
+
+    /**
+     * The task to write published frames in javaFX thread, it's posted at most once at a time.
+     */
+    private final JfxPlatform.CoalescedTask writeTask;
 
     /**
-     * The Frame state.
+     * The executor of jME thread to release the resources which are left by javaFX thread.
      */
-    protected final AtomicInteger frameState;
+    private volatile Executor releaseExecutor;
 
     /**
-     * The Image state.
+     * The destination.
      */
-    protected final AtomicInteger imageState;
+    protected final T destination;
 
     /**
-     * The Frame buffer.
+     * The Frame buffer, it's changed only by jME thread.
      */
-    protected final FrameBuffer frameBuffer;
+    protected volatile FrameBuffer frameBuffer;
 
     /**
-     * The Pixel writer.
+     * True if the frame buffer was created by this transfer.
      */
-    protected final PixelWriter pixelWriter;
+    private final boolean ownFrameBuffer;
 
     /**
-     * The Frame byte buffer.
+     * The Pixel writer, it's changed only by javaFX thread.
      */
-    protected final ByteBuffer frameByteBuffer;
+    protected PixelWriter pixelWriter;
+
+    /**
+     * The Frame byte buffer, it's used only by jME thread.
+     */
+    protected ByteBuffer frameByteBuffer;
 
     /**
      * The transfer mode.
@@ -87,34 +149,49 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
     protected final TransferMode transferMode;
 
     /**
-     * The byte buffer.
+     * The owner of the frame buffers.
      */
-    protected final byte[] byteBuffer;
+    protected final FrameBufferArena.Owner bufferOwner;
 
     /**
-     * The image byte buffer.
+     * The tiles of the frame to find changed parts of frames, it's used only by jME thread.
      */
-    protected final byte[] imageByteBuffer;
+    protected FrameTiles frameTiles;
 
     /**
-     * The prev image byte buffer.
+     * The mailbox of frames with BGRA pixels ready for javaFX.
      */
-    protected final byte[] prevImageByteBuffer;
+    private final FrameMailbox mailbox;
 
     /**
-     * How many frames need to write else.
+     * The timings of the stages.
      */
-    protected int frameCount;
+    private final FrameTransferStats stats;
+
+    /**
+     * True if the whole frame should be written by the next write, it's used only by javaFX thread.
+     */
+    private boolean fullWrite;
+
+    /**
+     * The width of the destination, it's used only by javaFX thread.
+     */
+    private int destinationWidth;
+
+    /**
+     * The height of the destination, it's used only by javaFX thread.
+     */
+    private int destinationHeight;
 
     /**
      * The width.
      */
-    private final int width;
+    private volatile int width;
 
     /**
      * The height.
      */
-    private final int height;
+    private volatile int height;
 
     public AbstractFrameTransfer(T destination, int width, int height, TransferMode transferMode) {
         this(destination, transferMode, null, width, height);
@@ -127,27 +204,41 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
             int width,
             int height
     ) {
+        this.destination = destination;
         this.transferMode = transferMode;
-        this.frameState = new AtomicInteger(WAITING_STATE);
-        this.imageState = new AtomicInteger(WAITING_STATE);
+        this.ownFrameBuffer = frameBuffer == null;
+        this.state = new AtomicInteger();
+        this.frameRequested = new AtomicBoolean(true);
+        this.fixedPeriod = 1_000_000_000L / DEFAULT_FIXED_RATE;
+        this.writeTask = JfxPlatform.coalesce(this::writeScheduledFrame);
         this.width = frameBuffer != null ? frameBuffer.getWidth() : width;
         this.height = frameBuffer != null ? frameBuffer.getHeight() : height;
-        this.frameCount = 0;
 
-        if (frameBuffer != null) {
-            this.frameBuffer = frameBuffer;
-        } else {
-            this.frameBuffer = new FrameBuffer(width, height, 1);
-            this.frameBuffer.setDepthTarget(FrameBufferTarget.newTarget(Image.Format.Depth));
-            this.frameBuffer.addColorTarget(FrameBufferTarget.newTarget(Image.Format.RGBA8));
-            this.frameBuffer.setSrgb(true);
-        }
+        this.destinationWidth = this.width;
+        this.destinationHeight = this.height;
+        this.frameBuffer = frameBuffer != null ? frameBuffer : createFrameBuffer(width, height);
 
-        frameByteBuffer = BufferUtils.createByteBuffer(getWidth() * getHeight() * 4);
-        byteBuffer = new byte[getWidth() * getHeight() * 4];
-        prevImageByteBuffer = new byte[getWidth() * getHeight() * 4];
-        imageByteBuffer = new byte[getWidth() * getHeight() * 4];
-        pixelWriter = getPixelWriter(destination, this.frameBuffer, width, height);
+        bufferOwner = FrameBufferArena.getDefault().createOwner(getClass().getSimpleName());
+        frameByteBuffer = bufferOwner.allocate(FrameBufferArena.getSizeClass(getWidth() * getHeight() * 4));
+        frameTiles = new FrameTiles(getWidth(), getHeight());
+        mailbox = new FrameMailbox(frameTiles, bufferOwner);
+        stats = new FrameTransferStats();
+        pixelWriter = getPixelWriter(destination, this.frameBuffer, getWidth(), getHeight());
+    }
+
+    /**
+     * Creates a new frame buffer to render frames.
+     *
+     * @param width  the width.
+     * @param height the height.
+     * @return the new frame buffer.
+     */
+    protected FrameBuffer createFrameBuffer(int width, int height) {
+        var frameBuffer = new FrameBuffer(width, height, 1);
+        frameBuffer.setDepthTarget(FrameBufferTarget.newTarget(Image.Format.Depth));
+        frameBuffer.addColorTarget(FrameBufferTarget.newTarget(Image.Format.RGBA8));
+        frameBuffer.setSrgb(true);
+        return frameBuffer;
     }
 
     @Override
@@ -170,6 +261,91 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Get the format to read frames back, the frames in RGBA8 are converted to BGRA by jME thread.
+     *
+     * @return RGBA8 or BGRA8.
+     */
+    protected Image.Format getReadFormat() {
+        return Image.Format.RGBA8;
+    }
+
+    @Override
+    public FrameBuffer getFrameBuffer() {
+        return frameBuffer;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+
+        if (width == this.width && height == this.height) {
+            return;
+        } else if (!ownFrameBuffer) {
+            throw new IllegalStateException("The frame buffer of this transfer can't be resized.");
+        } else if (!enter()) {
+            return;
+        }
+
+        try {
+
+            final int frameLength = width * height * 4;
+
+            frameBuffer.dispose();
+            frameBuffer = createFrameBuffer(width, height);
+
+            if (frameByteBuffer.capacity() < frameLength) {
+                bufferOwner.release(frameByteBuffer);
+                frameByteBuffer = bufferOwner.allocate(FrameBufferArena.getSizeClass(frameLength));
+            }
+
+            frameTiles = new FrameTiles(width, height);
+            mailbox.setFrameTiles(frameTiles);
+
+            this.width = width;
+            this.height = height;
+
+            frameRequested.set(true);
+
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public void setFixedRate(int fixedRate) {
+        this.fixedPeriod = 1_000_000_000L / Math.max(1, fixedRate);
+    }
+
+    @Override
+    public void requestFrame() {
+        frameRequested.set(true);
+    }
+
+    /**
+     * Checks whether the frame should be read back in the current transfer mode, it's called only by jME thread.
+     *
+     * @return true if the frame should be read back.
+     */
+    protected boolean isFrameDue() {
+
+        if (transferMode == TransferMode.ON_DEMAND) {
+            return frameRequested.getAndSet(false);
+        } else if (transferMode != TransferMode.FIXED_RATE) {
+            return true;
+        }
+
+        final long now = System.nanoTime();
+        final long period = fixedPeriod;
+
+        if (now - nextFrameTime < 0) {
+            return false;
+        }
+
+        // keep the rate without bursts after a long frame
+        nextFrameTime = now - nextFrameTime > period ? now + period : nextFrameTime + period;
+        return true;
+    }
+
     @Override
     public int getWidth() {
         return width;
@@ -183,121 +359,343 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
     @Override
     public void copyFrameBufferToImage(RenderManager renderManager) {
 
-        while (!frameState.compareAndSet(WAITING_STATE, RUNNING_STATE)) {
-            if (frameState.get() == DISPOSED_STATE) {
-                return;
-            }
+        if (!isFrameDue() || !enter()) {
+            return;
         }
 
-        // Convert screenshot.
         try {
 
+            long time = System.nanoTime();
+
             frameByteBuffer.clear();
+            frameByteBuffer.limit(width * height * 4);
 
             var renderer = renderManager.getRenderer();
-            renderer.readFrameBufferWithFormat(frameBuffer, frameByteBuffer, Image.Format.RGBA8);
+            renderer.readFrameBufferWithFormat(frameBuffer, frameByteBuffer, getReadFormat());
 
-        } finally {
-            if (!frameState.compareAndSet(RUNNING_STATE, WAITING_STATE)) {
-                throw new RuntimeException("unknown problem with the frame state");
+            time = record(Stage.READBACK, time);
+
+            if (transferMode != TransferMode.ALWAYS) {
+                if (frameTiles.update(frameByteBuffer) == 0) {
+                    record(Stage.DETECT, time);
+                    return;
+                }
+            } else {
+                frameTiles.markAll();
+            }
+
+            time = record(Stage.DETECT, time);
+
+            if (getReadFormat() == Image.Format.RGBA8) {
+                convertDirtyBands();
+                time = record(Stage.CONVERT, time);
             }
+
+            if (mailbox.publish(frameByteBuffer)) {
+                stats.recordDropped();
+            }
+
+            record(Stage.STAGE, time);
+
+        } finally {
+            exit();
         }
 
-        synchronized (byteBuffer) {
-            frameByteBuffer.get(byteBuffer);
+        writeTask.schedule();
+    }
 
-            if (transferMode == TransferMode.ON_CHANGES) {
+    /**
+     * Records the time of the stage which was started at the time.
+     *
+     * @param stage the stage.
+     * @param start the start time of the stage.
+     * @return the end time of the stage.
+     */
+    private long record(Stage stage, long start) {
+        final long end = System.nanoTime();
+        stats.record(stage, end - start);
+        return end;
+    }
 
-                final byte[] prevBuffer = getPrevImageByteBuffer();
+    /**
+     * Converts the rows of tiles with dirty tiles of the frame byte buffer from RGBA to BGRA, large frames are
+     * converted by the common pool. It's called only by jME thread.
+     */
+    private void convertDirtyBands() {
 
-                if (Arrays.equals(prevBuffer, byteBuffer)) {
-                    if (frameCount == 0) return;
-                } else {
-                    frameCount = 2;
-                    System.arraycopy(byteBuffer, 0, prevBuffer, 0, byteBuffer.length);
-                }
+        final int tilesY = frameTiles.getTilesY();
+
+        if (frameTiles.getDirtyCount() == frameTiles.getTileCount() && width * height < PARALLEL_CONVERT_PIXELS) {
+            PixelSwizzle.reorderRGBA8ToBGRA8(frameByteBuffer, 0, width * height * 4);
+            return;
+        }
+
+        int dirtyBands = 0;
 
-                frameByteBuffer.position(0);
-                frameCount--;
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+            if (isDirtyBand(tileY)) {
+                dirtyBands++;
             }
         }
 
-        JfxPlatform.runInFxThread(this::writeFrame);
+        if (dirtyBands > 1 && dirtyBands * FrameTiles.TILE_SIZE * width >= PARALLEL_CONVERT_PIXELS) {
+            IntStream.range(0, tilesY).parallel().forEach(this::convertBand);
+        } else {
+            for (int tileY = 0; tileY < tilesY; tileY++) {
+                convertBand(tileY);
+            }
+        }
     }
 
     /**
-     * Write content to image.
+     * Checks the row of tiles for dirty tiles.
+     *
+     * @param tileY the row of tiles.
+     * @return true if the row has dirty tiles.
      */
-    protected void writeFrame() {
+    private boolean isDirtyBand(int tileY) {
 
-        while (!imageState.compareAndSet(WAITING_STATE, RUNNING_STATE)) {
-            if (imageState.get() == DISPOSED_STATE) {
-                return;
+        final int tilesX = frameTiles.getTilesX();
+
+        for (int tile = tileY * tilesX, end = tile + tilesX; tile < end; tile++) {
+            if (frameTiles.isDirty(tile)) {
+                return true;
             }
         }
 
+        return false;
+    }
+
+    /**
+     * Converts the row of tiles of the frame byte buffer from RGBA to BGRA if the row has dirty tiles.
+     *
+     * @param tileY the row of tiles.
+     */
+    private void convertBand(int tileY) {
+
+        if (!isDirtyBand(tileY)) {
+            return;
+        }
+
+        final int minY = tileY * FrameTiles.TILE_SIZE;
+        final int maxY = Math.min(minY + FrameTiles.TILE_SIZE, height);
+
+        PixelSwizzle.reorderRGBA8ToBGRA8(frameByteBuffer, minY * width * 4, (maxY - minY) * width * 4);
+    }
+
+    /**
+     * Writes the newest frame by the write task and records how many published frames the task covered.
+     */
+    private void writeScheduledFrame() {
+        stats.recordCovered(writeTask.getLastCoveredCount());
+        writeFrame();
+    }
+
+    /**
+     * Write the tiles of the newest frame which were changed since the previous written frame.
+     */
+    protected void writeFrame() {
+
+        if (!enter()) {
+            return;
+        }
+
         try {
 
-            var imageByteBuffer = getImageByteBuffer();
+            final long time = System.nanoTime();
 
-            synchronized (byteBuffer) {
-                System.arraycopy(byteBuffer, 0, imageByteBuffer, 0, byteBuffer.length);
+            if (!mailbox.acquire() && !fullWrite) {
+                return;
             }
 
-            for (int i = 0, length = width * height * 4; i < length; i += 4) {
-                byte r = imageByteBuffer[i];
-                byte g = imageByteBuffer[i + 1];
-                byte b = imageByteBuffer[i + 2];
-                byte a = imageByteBuffer[i + 3];
-                imageByteBuffer[i] = b;
-                imageByteBuffer[i + 1] = g;
-                imageByteBuffer[i + 2] = r;
-                imageByteBuffer[i + 3] = a;
+            final int frameWidth = mailbox.getFrontWidth();
+            final int frameHeight = mailbox.getFrontHeight();
+            final boolean[] tiles = mailbox.getChangedTiles();
+
+            if (frameWidth == 0) {
+                return;
+            } else if (frameWidth != destinationWidth || frameHeight != destinationHeight) {
+                resizeDestination(frameWidth, frameHeight);
+                destinationWidth = frameWidth;
+                destinationHeight = frameHeight;
+                Arrays.fill(tiles, true);
+            } else if (fullWrite) {
+                Arrays.fill(tiles, true);
             }
 
-            var pixelFormat = PixelFormat.getByteBgraInstance();
+            fullWrite = false;
 
-            pixelWriter.setPixels(0, 0, width, height, pixelFormat, imageByteBuffer, 0, width * 4);
+            writeTiles(mailbox.getFront(), tiles, frameWidth, frameHeight);
+            record(Stage.WRITE, time);
 
         } finally {
-            if (!imageState.compareAndSet(RUNNING_STATE, WAITING_STATE)) {
-                throw new RuntimeException("unknown problem with the image state");
+            exit();
+        }
+    }
+
+    /**
+     * Resizes the destination for frames of the new size, it's called only by javaFX thread before writing the
+     * first frame of the new size. By default the pixel writer is taken again.
+     *
+     * @param width  the new width.
+     * @param height the new height.
+     */
+    protected void resizeDestination(int width, int height) {
+        pixelWriter = getPixelWriter(destination, frameBuffer, width, height);
+    }
+
+    /**
+     * Writes the tiles of the frame to the destination, it's called only by javaFX thread. By default adjacent
+     * tiles of a row are written to the pixel writer by one call.
+     *
+     * @param frame  the frame with BGRA pixels.
+     * @param tiles  the flags of tiles to write.
+     * @param width  the width of the frame.
+     * @param height the height of the frame.
+     */
+    protected void writeTiles(byte[] frame, boolean[] tiles, int width, int height) {
+
+        final var pixelFormat = PixelFormat.getByteBgraInstance();
+        final int tilesX = (width + FrameTiles.TILE_SIZE - 1) / FrameTiles.TILE_SIZE;
+        final int tilesY = (height + FrameTiles.TILE_SIZE - 1) / FrameTiles.TILE_SIZE;
+
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+
+            final int rowStart = tileY * tilesX;
+            final int minY = tileY * FrameTiles.TILE_SIZE;
+            final int tileHeight = Math.min(minY + FrameTiles.TILE_SIZE, height) - minY;
+
+            for (int tileX = 0; tileX < tilesX; tileX++) {
+
+                if (!tiles[rowStart + tileX]) {
+                    continue;
+                }
+
+                final int firstX = tileX;
+
+                while (tileX + 1 < tilesX && tiles[rowStart + tileX + 1]) {
+                    tileX++;
+                }
+
+                final int minX = firstX * FrameTiles.TILE_SIZE;
+                final int maxX = Math.min((tileX + 1) * FrameTiles.TILE_SIZE, width);
+
+                pixelWriter.setPixels(minX, minY, maxX - minX, tileHeight, pixelFormat,
+                        frame, (minY * width + minX) * 4, width * 4);
             }
         }
     }
 
     /**
-     * Get the image byte buffer.
+     * Marks the whole frame to be written to the destination by the next write, it's called only by javaFX
+     * thread.
+     */
+    protected void invalidate() {
+        fullWrite = true;
+    }
+
+    /**
+     * Get the image byte buffer with the newest taken frame, it's called only by javaFX thread.
      *
      * @return the image byte buffer.
      */
     protected byte[] getImageByteBuffer() {
-        return imageByteBuffer;
+        return mailbox.getFront();
+    }
+
+    @Override
+    public FrameTransferStats getStats() {
+        return stats;
     }
 
     /**
-     * Get the prev image byte buffer.
+     * Get the tiles of the frame.
      *
-     * @return the prev image byte buffer.
+     * @return the tiles of the frame.
      */
-    protected byte[] getPrevImageByteBuffer() {
-        return prevImageByteBuffer;
+    protected FrameTiles getFrameTiles() {
+        return frameTiles;
+    }
+
+    /**
+     * Enters a thread to the transfer.
+     *
+     * @return false if the transfer is disposed.
+     */
+    private boolean enter() {
+
+        if ((state.incrementAndGet() & DISPOSING_FLAG) != 0) {
+            exit();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Leaves the transfer, the last thread which leaves a disposing transfer releases its resources.
+     */
+    private void exit() {
+        if (state.decrementAndGet() == DISPOSING_FLAG && state.compareAndSet(DISPOSING_FLAG, DISPOSED_STATE)) {
+            disposeLeft();
+        }
+    }
+
+    /**
+     * Releases the resources of the transfer which was left by the last thread, it can be javaFX thread. The
+     * resources are released by jME thread through the release executor, without the executor only the buffers
+     * are released and the frame buffer is left to jME, which deletes unreferenced native objects.
+     */
+    private void disposeLeft() {
+
+        final Executor executor = releaseExecutor;
+
+        if (executor != null) {
+            executor.execute(this::disposeImpl);
+        } else {
+            releaseBuffers();
+        }
+    }
+
+    @Override
+    public void setReleaseExecutor(Executor releaseExecutor) {
+        this.releaseExecutor = releaseExecutor;
+    }
+
+    /**
+     * Checks the state of the transfer.
+     *
+     * @return true if the transfer is disposing or disposed.
+     */
+    protected boolean isDisposed() {
+        return (state.get() & DISPOSING_FLAG) != 0;
     }
 
     @Override
     public void dispose() {
-        while (!frameState.compareAndSet(WAITING_STATE, DISPOSING_STATE)) ;
-        while (!imageState.compareAndSet(WAITING_STATE, DISPOSING_STATE)) ;
-        disposeImpl();
-        frameState.compareAndSet(DISPOSING_STATE, DISPOSED_STATE);
-        imageState.compareAndSet(DISPOSING_STATE, DISPOSED_STATE);
+
+        final int prev = state.getAndUpdate(value -> value | DISPOSING_FLAG);
+
+        if (prev == 0 && state.compareAndSet(DISPOSING_FLAG, DISPOSED_STATE)) {
+            disposeImpl();
+        }
     }
 
     /**
-     * Dispose.
+     * Dispose, it's called once by jME thread after the last thread left the disposing transfer.
      */
     protected void disposeImpl() {
         frameBuffer.dispose();
-        BufferUtils.destroyDirectBuffer(frameByteBuffer);
+        releaseBuffers();
+    }
+
+    /**
+     * Releases the buffers of the transfer, it's called once by any thread after the last thread left the disposing
+     * transfer.
+     */
+    protected void releaseBuffers() {
+        bufferOwner.release(frameByteBuffer);
+        mailbox.release();
+        bufferOwner.close();
     }
 }
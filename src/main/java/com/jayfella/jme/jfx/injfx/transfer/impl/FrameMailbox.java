@@ -0,0 +1,339 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.transfer.impl;
+
+import java.nio.ByteBuffer;
+
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.jayfella.jme.jfx.util.FrameTiles;
+import com.jayfella.jme.jfx.util.TripleBuffer;
+
+/**
+ * The latest-wins mailbox of frames between jME thread and javaFX thread.
+ * <p>
+ * The mailbox keeps three frames in a {@link TripleBuffer}, the producer never waits for the consumer and
+ * overwrites a frame which wasn't taken yet. A slot is updated only by the tiles which were changed since the
+ * frame in the slot, every slot keeps the sequence numbers of the last changes of its tiles, so the consumer
+ * gets all tiles which were changed since its previous frame even if some frames were dropped. Only the dirty
+ * tiles of the produced frame are copied from the frame, the tiles which the back slot missed are copied from the
+ * last published slot, so the producer needs to convert only the dirty tiles of its frame. Every slot keeps
+ * the size of its frame, the frames of a new size are copied whole and slots are reallocated only if they are too
+ * small for the new size.
+ *
+ * @author JavaSaBr
+ */
+final class FrameMailbox {
+
+    /**
+     * The exchange of slots.
+     */
+    private final TripleBuffer frames;
+
+    /**
+     * The pixels of slots.
+     */
+    private final byte[][] slots;
+
+    /**
+     * The widths of frames in slots.
+     */
+    private final int[] slotWidths;
+
+    /**
+     * The heights of frames in slots.
+     */
+    private final int[] slotHeights;
+
+    /**
+     * The sequence numbers of frames in slots.
+     */
+    private final long[] slotSequences;
+
+    /**
+     * The sequence numbers of the last changes of tiles of frames in slots.
+     */
+    private final long[][] slotTileSequences;
+
+    /**
+     * The owner of the slots.
+     */
+    private final FrameBufferArena.Owner bufferOwner;
+
+    /**
+     * The tiles of produced frames, it's used only by the producer.
+     */
+    private FrameTiles frameTiles;
+
+    /**
+     * The sequence numbers of the last changes of tiles, it's used only by the producer.
+     */
+    private long[] tileSequences;
+
+    /**
+     * The sequence number of the last produced frame, it's used only by the producer.
+     */
+    private long sequence;
+
+    /**
+     * The index of the last published slot or -1, it's used only by the producer.
+     */
+    private int publishedSlot;
+
+    /**
+     * The tiles of the last taken frame which were changed since the previous taken frame, it's used only by the
+     * consumer.
+     */
+    private boolean[] changedTiles;
+
+    /**
+     * The sequence number of the last taken frame, it's used only by the consumer.
+     */
+    private long acquiredSequence;
+
+    /**
+     * The width of the last taken frame, it's used only by the consumer.
+     */
+    private int acquiredWidth;
+
+    /**
+     * The height of the last taken frame, it's used only by the consumer.
+     */
+    private int acquiredHeight;
+
+    /**
+     * Creates the mailbox for frames of the tiles.
+     *
+     * @param frameTiles  the tiles of frames.
+     * @param bufferOwner the owner to allocate slots.
+     */
+    FrameMailbox(final FrameTiles frameTiles, final FrameBufferArena.Owner bufferOwner) {
+        this.frames = new TripleBuffer();
+        this.bufferOwner = bufferOwner;
+        this.slots = new byte[TripleBuffer.SLOTS][];
+        this.slotWidths = new int[TripleBuffer.SLOTS];
+        this.slotHeights = new int[TripleBuffer.SLOTS];
+        this.slotSequences = new long[TripleBuffer.SLOTS];
+        this.slotTileSequences = new long[TripleBuffer.SLOTS][0];
+        this.changedTiles = new boolean[0];
+        this.publishedSlot = -1;
+        setFrameTiles(frameTiles);
+    }
+
+    /**
+     * Sets the tiles of next frames after changing the size of frames, it's called only by the producer.
+     *
+     * @param frameTiles the tiles of frames.
+     */
+    void setFrameTiles(final FrameTiles frameTiles) {
+        this.frameTiles = frameTiles;
+        this.tileSequences = new long[frameTiles.getTileCount()];
+    }
+
+    /**
+     * Copies the tiles which were changed since the frame of the back slot and publishes the back slot, it's called
+     * only by the producer after updating the tiles by the frame. The dirty tiles are copied from the frame, other
+     * tiles are copied from the last published slot, which can't be the back slot and is only read by the consumer.
+     * Frames of a new size have all tiles dirty, so the last published slot always has the size of the frame when
+     * it's needed.
+     *
+     * @param frame the frame from the position 0.
+     * @return true if the previous published frame wasn't taken and was dropped.
+     */
+    boolean publish(final ByteBuffer frame) {
+
+        final long frameSequence = ++sequence;
+        final int back = frames.getBackIndex();
+        final int width = frameTiles.getWidth();
+        final int height = frameTiles.getHeight();
+        final int tilesX = frameTiles.getTilesX();
+        final boolean resized = slotWidths[back] != width || slotHeights[back] != height;
+
+        if (resized) {
+            resizeSlot(back, width, height);
+        }
+
+        final byte[] slot = slots[back];
+        final long slotSequence = slotSequences[back];
+        final int published = publishedSlot;
+        final byte[] source = published >= 0 && slotWidths[published] == width && slotHeights[published] == height
+                ? slots[published] : null;
+
+        for (int tile = 0, length = tileSequences.length; tile < length; tile++) {
+
+            final boolean dirty = frameTiles.isDirty(tile);
+
+            if (dirty) {
+                tileSequences[tile] = frameSequence;
+            } else if (!resized && tileSequences[tile] <= slotSequence) {
+                continue;
+            }
+
+            final int minX = (tile % tilesX) * FrameTiles.TILE_SIZE;
+            final int minY = (tile / tilesX) * FrameTiles.TILE_SIZE;
+            final int maxY = Math.min(minY + FrameTiles.TILE_SIZE, height);
+            final int rowLength = (Math.min(minX + FrameTiles.TILE_SIZE, width) - minX) * 4;
+
+            if (dirty || source == null) {
+                for (int y = minY; y < maxY; y++) {
+                    final int offset = (y * width + minX) * 4;
+                    frame.position(offset);
+                    frame.get(slot, offset, rowLength);
+                }
+            } else {
+                for (int y = minY; y < maxY; y++) {
+                    final int offset = (y * width + minX) * 4;
+                    System.arraycopy(source, offset, slot, offset, rowLength);
+                }
+            }
+        }
+
+        frame.clear();
+
+        System.arraycopy(tileSequences, 0, slotTileSequences[back], 0, tileSequences.length);
+        slotSequences[back] = frameSequence;
+        publishedSlot = back;
+
+        return frames.publish();
+    }
+
+    /**
+     * Prepares the back slot for frames of the size, the slot is reallocated only if it's too small.
+     *
+     * @param back   the index of the back slot.
+     * @param width  the width of frames.
+     * @param height the height of frames.
+     */
+    private void resizeSlot(final int back, final int width, final int height) {
+
+        final int length = width * height * 4;
+
+        if (slots[back] == null || slots[back].length < length) {
+
+            if (slots[back] != null) {
+                bufferOwner.release(slots[back]);
+            }
+
+            slots[back] = bufferOwner.allocateArray(FrameBufferArena.getSizeClass(length));
+        }
+
+        if (slotTileSequences[back].length != tileSequences.length) {
+            slotTileSequences[back] = new long[tileSequences.length];
+        }
+
+        slotWidths[back] = width;
+        slotHeights[back] = height;
+    }
+
+    /**
+     * Takes the latest published frame and finds its tiles which were changed since the previous taken frame,
+     * all tiles are changed if the size was changed. It's called only by the consumer.
+     *
+     * @return true if a new frame was taken.
+     */
+    boolean acquire() {
+
+        if (!frames.acquire()) {
+            return false;
+        }
+
+        final int front = frames.getFrontIndex();
+        final long[] sequences = slotTileSequences[front];
+        final int width = slotWidths[front];
+        final int height = slotHeights[front];
+        final boolean resized = width != acquiredWidth || height != acquiredHeight;
+
+        if (changedTiles.length != sequences.length) {
+            changedTiles = new boolean[sequences.length];
+        }
+
+        for (int tile = 0; tile < sequences.length; tile++) {
+            changedTiles[tile] = resized || sequences[tile] > acquiredSequence;
+        }
+
+        acquiredSequence = slotSequences[front];
+        acquiredWidth = width;
+        acquiredHeight = height;
+        return true;
+    }
+
+    /**
+     * Gets the tiles of the latest taken frame which were changed since the previous taken frame, it's called only
+     * by the consumer.
+     *
+     * @return the flags of changed tiles.
+     */
+    boolean[] getChangedTiles() {
+        return changedTiles;
+    }
+
+    /**
+     * Gets the pixels of the latest taken frame, it's called only by the consumer.
+     *
+     * @return the pixels of the front slot or null.
+     */
+    byte[] getFront() {
+        return slots[frames.getFrontIndex()];
+    }
+
+    /**
+     * Gets the width of the latest taken frame, it's called only by the consumer.
+     *
+     * @return the width or 0 if no frame was taken.
+     */
+    int getFrontWidth() {
+        return acquiredWidth;
+    }
+
+    /**
+     * Gets the height of the latest taken frame, it's called only by the consumer.
+     *
+     * @return the height or 0 if no frame was taken.
+     */
+    int getFrontHeight() {
+        return acquiredHeight;
+    }
+
+    /**
+     * Gets the count of published frames which were overwritten before taking.
+     *
+     * @return the count of dropped frames.
+     */
+    long getDroppedCount() {
+        return frames.getDroppedCount();
+    }
+
+    /**
+     * Releases the slots, it's called when nobody uses the mailbox.
+     */
+    void release() {
+        for (final byte[] slot : slots) {
+            if (slot != null) {
+                bufferOwner.release(slot);
+            }
+        }
+    }
+}
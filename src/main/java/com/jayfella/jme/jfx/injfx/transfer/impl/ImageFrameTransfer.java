@@ -57,6 +57,12 @@ public class ImageFrameTransfer extends AbstractFrameTransfer<ImageView> {
         JfxPlatform.runInFxThread(() -> imageView.setImage(writableImage));
     }
 
+    @Override
+    protected void resizeDestination(int width, int height) {
+        super.resizeDestination(width, height);
+        destination.setImage(writableImage);
+    }
+
     @Override
     protected PixelWriter getPixelWriter(
             ImageView destination,
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.transfer.impl;
+
+import java.nio.ByteBuffer;
+
+import com.jayfella.jme.jfx.injfx.processor.FrameTransferSceneProcessor.TransferMode;
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.jayfella.jme.jfx.util.FrameTiles;
+import com.jayfella.jme.jfx.util.JfxPlatform;
+import com.jme3.texture.FrameBuffer;
+import com.jme3.texture.Image;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+/**
+ * The class for transferring a frame from jME to {@link ImageView} through a {@link PixelBuffer}.
+ * <p>
+ * The frame is read back in BGRA order, so javaFX uses the pixels as is without any swizzling. Only the changed
+ * tiles of the frame are copied to the buffer of the image and only their bounds are marked as dirty for javaFX.
+ * The pixel buffer is premultiplied, the frame must be opaque or have premultiplied colors.
+ *
+ * @author JavaSaBr
+ */
+public class PixelBufferFrameTransfer extends AbstractFrameTransfer<ImageView> {
+
+    /**
+     * The buffer of the image, it's changed only by javaFX thread. It isn't taken from the arena, because
+     * javaFX can read it until the image is collected, but it's kept while it's big enough for a new size.
+     */
+    private ByteBuffer imageByteBuffer;
+
+    /**
+     * The pixel buffer of the image.
+     */
+    private PixelBuffer<ByteBuffer> pixelBuffer;
+
+    /**
+     * The image.
+     */
+    private WritableImage writableImage;
+
+    public PixelBufferFrameTransfer(ImageView imageView, TransferMode transferMode, int width, int height) {
+        this(imageView, transferMode, null, width, height);
+    }
+
+    public PixelBufferFrameTransfer(
+            ImageView imageView,
+            TransferMode transferMode,
+            FrameBuffer frameBuffer,
+            int width,
+            int height
+    ) {
+        super(imageView, transferMode, frameBuffer, width, height);
+        JfxPlatform.runInFxThread(() -> imageView.setImage(writableImage));
+    }
+
+    @Override
+    protected PixelWriter getPixelWriter(
+            ImageView destination,
+            FrameBuffer frameBuffer,
+            int width,
+            int height
+    ) {
+
+        final int size = width * height * 4;
+
+        // a pixel buffer accepts a bigger buffer, so only a new image is needed for a smaller size
+        if (imageByteBuffer == null || imageByteBuffer.capacity() < size) {
+            imageByteBuffer = ByteBuffer.allocateDirect(FrameBufferArena.getSizeClass(size));
+        }
+
+        imageByteBuffer.clear();
+        pixelBuffer = new PixelBuffer<>(width, height, imageByteBuffer, PixelFormat.getByteBgraPreInstance());
+        writableImage = new WritableImage(pixelBuffer);
+
+        // the pixel buffer is written without a pixel writer
+        return null;
+    }
+
+    @Override
+    protected Image.Format getReadFormat() {
+        return Image.Format.BGRA8;
+    }
+
+    @Override
+    protected void resizeDestination(int width, int height) {
+        super.resizeDestination(width, height);
+        destination.setImage(writableImage);
+    }
+
+    @Override
+    protected void writeTiles(byte[] frame, boolean[] tiles, int width, int height) {
+        pixelBuffer.updateBuffer(buffer -> copyTiles(frame, tiles, width, height));
+    }
+
+    /**
+     * Copies the tiles of the frame to the buffer of the image.
+     *
+     * @param frame  the frame with BGRA pixels.
+     * @param tiles  the flags of tiles to copy.
+     * @param width  the width of the frame.
+     * @param height the height of the frame.
+     * @return the bounds of the copied tiles or {@link Rectangle2D#EMPTY}.
+     */
+    private Rectangle2D copyTiles(byte[] frame, boolean[] tiles, int width, int height) {
+
+        final int tilesX = (width + FrameTiles.TILE_SIZE - 1) / FrameTiles.TILE_SIZE;
+
+        int minTileX = Integer.MAX_VALUE;
+        int minTileY = Integer.MAX_VALUE;
+        int maxTileX = -1;
+        int maxTileY = -1;
+
+        for (int tile = 0; tile < tiles.length; tile++) {
+
+            if (!tiles[tile]) {
+                continue;
+            }
+
+            final int tileX = tile % tilesX;
+            final int tileY = tile / tilesX;
+            final int minX = tileX * FrameTiles.TILE_SIZE;
+            final int minY = tileY * FrameTiles.TILE_SIZE;
+            final int maxY = Math.min(minY + FrameTiles.TILE_SIZE, height);
+            final int rowLength = (Math.min(minX + FrameTiles.TILE_SIZE, width) - minX) * 4;
+
+            for (int y = minY; y < maxY; y++) {
+                final int offset = (y * width + minX) * 4;
+                imageByteBuffer.position(offset);
+                imageByteBuffer.put(frame, offset, rowLength);
+            }
+
+            minTileX = Math.min(minTileX, tileX);
+            minTileY = Math.min(minTileY, tileY);
+            maxTileX = Math.max(maxTileX, tileX);
+            maxTileY = Math.max(maxTileY, tileY);
+        }
+
+        imageByteBuffer.clear();
+
+        if (maxTileX < 0) {
+            return Rectangle2D.EMPTY;
+        }
+
+        final int minX = minTileX * FrameTiles.TILE_SIZE;
+        final int minY = minTileY * FrameTiles.TILE_SIZE;
+        final int maxX = Math.min((maxTileX + 1) * FrameTiles.TILE_SIZE, width);
+        final int maxY = Math.min((maxTileY + 1) * FrameTiles.TILE_SIZE, height);
+
+        return new Rectangle2D(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Get the image, it's changed by resizing.
+     *
+     * @return the image.
+     */
+    public WritableImage getWritableImage() {
+        return writableImage;
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injme;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.function.Function;
+
+import com.jayfella.jme.jfx.util.CoverageMask;
+import com.jayfella.jme.jfx.util.DirtyRegion;
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.jayfella.jme.jfx.util.TripleBuffer;
+import com.sun.javafx.embed.EmbeddedSceneInterface;
+
+/**
+ * The three frame buffers to transfer javaFX frames of the fixed size to jME without locks.
+ * <p>
+ * The javaFX thread gets pixels of the scene straight to the back buffer and publishes it, the jME
+ * thread takes the latest published buffer as the front buffer and uses it as the data of the jME
+ * image, so pixels aren't copied between the buffers. Every published buffer has the region which
+ * was changed since the last frame taken by jME.
+ * <p>
+ * The javaFX thread keeps two coverage masks of drawn frames, the mask of the latest drawn frame is
+ * published for hit tests and the other one is updated by the next frame.
+ * <p>
+ * The frame buffers are allocated by the owner in the shared {@link FrameBufferArena}, so the buffers of
+ * a disposed swap chain are reused by a new swap chain of a close size.
+ */
+public class FrameSwapChain {
+
+
+    /**
+     * The shift of the alpha in the int presentation of pixels, the alpha is the fourth byte of a pixel.
+     */
+    private static final int ALPHA_SHIFT = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 24 : 0;
+
+    /**
+     * The width of frames.
+     */
+    private final int width;
+
+    /**
+     * The height of frames.
+     */
+    private final int height;
+
+    /**
+     * The owner of the frame buffers.
+     */
+    private final FrameBufferArena.Owner bufferOwner;
+
+    /**
+     * The frame buffers.
+     */
+    private final ByteBuffer[] buffers;
+
+    /**
+     * The int presentations of the frame buffers.
+     */
+    private final IntBuffer[] intBuffers;
+
+    /**
+     * The changed regions of the frame buffers.
+     */
+    private final DirtyRegion[] regions;
+
+    /**
+     * The exchange of the frame buffers between javaFX and jME.
+     */
+    private final TripleBuffer tripleBuffer;
+
+    /**
+     * The region which was changed in the last drawn frame.
+     */
+    private final DirtyRegion drawnRegion;
+
+    /**
+     * The region which was changed since the last frame known as taken by jME.
+     */
+    private final DirtyRegion unconfirmedRegion;
+
+    /**
+     * The region which was changed since the last update of the back coverage mask.
+     */
+    private final DirtyRegion coverageRegion;
+
+    /**
+     * The coverage mask of the latest drawn frame.
+     */
+    private volatile CoverageMask coverageMask;
+
+    /**
+     * The coverage mask to update by the next drawn frame.
+     */
+    private CoverageMask backCoverageMask;
+
+    /**
+     * The shift of the cell size of coverage masks.
+     */
+    private volatile int coverageCellShift;
+
+    /**
+     * The min alpha of covered pixels of coverage masks.
+     */
+    private volatile int coverageAlphaThreshold;
+
+    /**
+     * The index of the last published frame buffer.
+     */
+    private int lastPublished;
+
+    /**
+     * The flag of the disposed swap chain, it's used only by jME thread.
+     */
+    private boolean disposed;
+
+    /**
+     * Creates the swap chain.
+     *
+     * @param width       the width of frames.
+     * @param height      the height of frames.
+     * @param bufferOwner the owner to allocate the frame buffers.
+     */
+    public FrameSwapChain(final int width, final int height, final FrameBufferArena.Owner bufferOwner) {
+        this.width = width;
+        this.height = height;
+        this.bufferOwner = bufferOwner;
+        this.buffers = new ByteBuffer[TripleBuffer.SLOTS];
+        this.intBuffers = new IntBuffer[TripleBuffer.SLOTS];
+        this.regions = new DirtyRegion[TripleBuffer.SLOTS];
+        this.tripleBuffer = new TripleBuffer();
+        this.drawnRegion = new DirtyRegion();
+        this.unconfirmedRegion = new DirtyRegion();
+        this.coverageRegion = new DirtyRegion();
+        this.coverageAlphaThreshold = 1;
+        this.lastPublished = -1;
+
+        for (int i = 0; i < TripleBuffer.SLOTS; i++) {
+            buffers[i] = bufferOwner.allocate(width * height * 4);
+            intBuffers[i] = buffers[i].asIntBuffer();
+            regions[i] = new DirtyRegion();
+        }
+    }
+
+    /**
+     * @return the width of frames.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of frames.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Draws a new frame of the scene and publishes it if it was changed, it's called only by javaFX thread.
+     *
+     * @param sceneInterface the scene to get pixels.
+     * @param reorderData    the function to reorder pixels or null.
+     * @return true if a new frame was published.
+     */
+    public boolean draw(final EmbeddedSceneInterface sceneInterface, final Function<ByteBuffer, Void> reorderData) {
+
+        final int back = tripleBuffer.getBackIndex();
+        final IntBuffer backIntBuffer = intBuffers[back];
+        backIntBuffer.clear();
+
+        if (!sceneInterface.getPixels(backIntBuffer, width, height)) {
+            return false;
+        }
+
+        if (reorderData != null) {
+            final ByteBuffer backBuffer = buffers[back];
+            backBuffer.clear();
+            reorderData.apply(backBuffer);
+            backBuffer.clear();
+        }
+
+        if (lastPublished == -1) {
+            drawnRegion.setFull(width, height);
+        } else if (DirtyRegion.diff(intBuffers[lastPublished], backIntBuffer, width, height, drawnRegion).isEmpty()) {
+
+            if (isCoverageOutdated(getCoverageMask())) {
+                updateCoverage(backIntBuffer, drawnRegion);
+            }
+
+            return false;
+        }
+
+        updateCoverage(backIntBuffer, drawnRegion);
+
+        // the jME texture has the last taken frame, so the region includes the frames which could be dropped
+        unconfirmedRegion.union(drawnRegion);
+        regions[back].set(unconfirmedRegion);
+
+        lastPublished = back;
+
+        if (!tripleBuffer.publish()) {
+            unconfirmedRegion.set(drawnRegion);
+        }
+
+        return true;
+    }
+
+    /**
+     * Updates the back coverage mask by the drawn frame and publishes it.
+     *
+     * @param pixels  the pixels of the drawn frame.
+     * @param changed the region which was changed in the drawn frame.
+     */
+    private void updateCoverage(final IntBuffer pixels, final DirtyRegion changed) {
+
+        final CoverageMask frontMask = getCoverageMask();
+
+        CoverageMask backMask = backCoverageMask;
+
+        if (backMask == null || isCoverageOutdated(backMask)) {
+            backMask = new CoverageMask(width, height, coverageCellShift, coverageAlphaThreshold);
+            coverageRegion.setFull(width, height);
+        } else {
+            coverageRegion.union(changed);
+        }
+
+        backMask.update(pixels, ALPHA_SHIFT, coverageRegion);
+
+        this.coverageMask = backMask;
+        this.backCoverageMask = frontMask;
+
+        // the previous mask misses only the changes of the drawn frame
+        coverageRegion.set(changed);
+    }
+
+    private boolean isCoverageOutdated(final CoverageMask mask) {
+        return mask == null || mask.getCellShift() != coverageCellShift
+                || mask.getAlphaThreshold() != coverageAlphaThreshold;
+    }
+
+    /**
+     * Sets the parameters of coverage masks, the masks are rebuilt by the next drawing.
+     *
+     * @param cellShift      the shift of the cell size.
+     * @param alphaThreshold the min alpha of covered pixels.
+     */
+    public void setCoverage(final int cellShift, final int alphaThreshold) {
+        this.coverageCellShift = cellShift;
+        this.coverageAlphaThreshold = alphaThreshold;
+    }
+
+    /**
+     * Gets the coverage mask of the latest drawn frame.
+     *
+     * @return the coverage mask or null if a frame wasn't drawn.
+     */
+    public CoverageMask getCoverageMask() {
+        return coverageMask;
+    }
+
+    /**
+     * Checks of existing a published frame which wasn't taken by jME.
+     *
+     * @return true if there is a new frame.
+     */
+    public boolean hasNewFrame() {
+        return tripleBuffer.hasNewFrame();
+    }
+
+    /**
+     * Takes the latest published frame as the front frame, it's called only by jME thread.
+     *
+     * @return true if a new frame was taken.
+     */
+    public boolean acquire() {
+        return tripleBuffer.acquire();
+    }
+
+    /**
+     * Gets the buffer of the front frame, it's called only by jME thread.
+     *
+     * @return the buffer of the front frame.
+     */
+    public ByteBuffer getFrontBuffer() {
+        return buffers[tripleBuffer.getFrontIndex()];
+    }
+
+    /**
+     * Gets the region of the front frame which was changed since the previous taken frame, it's called only by
+     * jME thread.
+     *
+     * @return the changed region of the front frame.
+     */
+    public DirtyRegion getFrontRegion() {
+        return regions[tripleBuffer.getFrontIndex()];
+    }
+
+    /**
+     * @return the sequence number of the latest published frame.
+     */
+    public long getFrameSequence() {
+        return tripleBuffer.getPublishedSequence();
+    }
+
+    /**
+     * @return the count of frames which were replaced by newer frames before taking by jME.
+     */
+    public long getDroppedFrames() {
+        return tripleBuffer.getDroppedCount();
+    }
+
+    /**
+     * Returns the frame buffers to the arena, the swap chain must not be used by both threads anymore.
+     * It's called only by jME thread.
+     */
+    public void dispose() {
+
+        if (disposed) {
+            return;
+        }
+
+        disposed = true;
+
+        for (final ByteBuffer buffer : buffers) {
+            bufferOwner.release(buffer);
+        }
+    }
+}
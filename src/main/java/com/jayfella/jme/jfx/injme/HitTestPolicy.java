@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injme;
+
+/**
+ * The policies to decide whether a point of the screen is covered by javaFX UI, covered points consume
+ * mouse events from jME.
+ */
+public enum HitTestPolicy {
+
+    /**
+     * The point is covered if the pixel of the drawn frame isn't transparent.
+     */
+    PIXEL_ALPHA,
+
+    /**
+     * The point is covered if it's inside of the scene bounds of a visible node which can receive mouse events:
+     * a leaf node, a node which is picked on bounds or a region with a background or a border. Transformed
+     * nodes are checked by their bounding boxes.
+     * <p>
+     * The decision for a node and its children can be overridden by the property {@link #NODE_COVERED} of
+     * the node with a boolean value, the property {@link #NODE_LAYER} marks a node whose empty space doesn't cover
+     * the scene.
+     */
+    SCENE_GRAPH;
+
+    /**
+     * The key of the node property to override the coverage of the node: {@link Boolean#TRUE} to cover the
+     * bounds of the node, {@link Boolean#FALSE} to ignore the node and its children.
+     */
+    public static final String NODE_COVERED = "jmejfx.hitTest.covered";
+
+    /**
+     * The key of the node property to mark the node as a layer with {@link Boolean#TRUE}: the bounds of the node
+     * don't cover the scene, but its children are checked as usual.
+     */
+    public static final String NODE_LAYER = "jmejfx.hitTest.layer";
+}
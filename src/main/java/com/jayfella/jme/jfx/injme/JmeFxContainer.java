@@ -75,6 +75,94 @@ public interface JmeFxContainer {
      */
     Void writeToJme();
 
+    /**
+     * Gets the max ratio of the changed area to the frame area which is uploaded to the texture as a sub-image.
+     *
+     * @return the ratio in range [0, 1].
+     */
+    float getPartialUploadThreshold();
+
+    /**
+     * Sets the max ratio of the changed area to the frame area which is uploaded to the texture as a sub-image,
+     * bigger changes are uploaded as a full frame.
+     *
+     * @param partialUploadThreshold the ratio in range [0, 1], 0 to upload always full frames.
+     */
+    void setPartialUploadThreshold(float partialUploadThreshold);
+
+    /**
+     * Gets the min alpha of pixels which are covered by javaFX for hit tests.
+     *
+     * @return the alpha in range [1, 255].
+     */
+    int getCoverageAlphaThreshold();
+
+    /**
+     * Sets the min alpha of pixels which are covered by javaFX for hit tests.
+     *
+     * @param coverageAlphaThreshold the alpha in range [1, 255].
+     */
+    void setCoverageAlphaThreshold(int coverageAlphaThreshold);
+
+    /**
+     * Gets the size of square blocks of pixels which are checked together for hit tests.
+     *
+     * @return the size of blocks: 1, 2, 4 or 8.
+     */
+    int getCoverageBlockSize();
+
+    /**
+     * Sets the size of square blocks of pixels which are checked together for hit tests, a block is covered
+     * if any of its pixels is covered. Bigger blocks take less memory.
+     *
+     * @param coverageBlockSize the size of blocks, it's rounded down to 1, 2, 4 or 8.
+     */
+    void setCoverageBlockSize(int coverageBlockSize);
+
+    /**
+     * Gets the max count of javaFX frames per second.
+     *
+     * @return the max frame rate, 0 is unlimited.
+     */
+    int getMaxFrameRate();
+
+    /**
+     * Sets the max count of javaFX frames per second. Redraw requests between frames are collapsed into one
+     * delayed frame, so the latest state of the UI is always shown.
+     *
+     * @param maxFrameRate the max frame rate, 0 is unlimited.
+     */
+    void setMaxFrameRate(int maxFrameRate);
+
+    /**
+     * Gets the time of the stable window size to resize the scene.
+     *
+     * @return the time in milliseconds.
+     */
+    long getResizeQuietPeriod();
+
+    /**
+     * Sets the time of the stable window size to resize the scene, the last frame is stretched to the window
+     * while the size is changing.
+     *
+     * @param resizeQuietPeriod the time in milliseconds, 0 to resize the scene immediately.
+     */
+    void setResizeQuietPeriod(long resizeQuietPeriod);
+
+    /**
+     * Gets the policy to decide whether a point is covered by javaFX UI.
+     *
+     * @return the hit test policy.
+     */
+    HitTestPolicy getHitTestPolicy();
+
+    /**
+     * Sets the policy to decide whether a point is covered by javaFX UI.
+     *
+     * @param hitTestPolicy the hit test policy.
+     */
+    void setHitTestPolicy(HitTestPolicy hitTestPolicy);
+
     /**
      * Set a new scene to this container.
      *
@@ -26,10 +26,10 @@
  */
 package com.jayfella.jme.jfx.injme;
 
+import static java.util.Objects.requireNonNull;
+
 import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
@@ -39,24 +39,28 @@ import com.jayfella.jme.jfx.injme.cursor.CursorDisplayProvider;
 import com.jayfella.jme.jfx.injme.cursor.proton.ProtonCursorProvider;
 import com.jayfella.jme.jfx.injme.input.JmeFXInputListener;
 import com.jayfella.jme.jfx.injme.util.JmeWindowUtils;
-import com.jayfella.jme.jfx.lock.AsyncReadSyncWriteLock;
-import com.jayfella.jme.jfx.lock.FinalAtomicReadWriteLock;
+import com.jayfella.jme.jfx.util.CoverageMask;
+import com.jayfella.jme.jfx.util.DirtyRegion;
+import com.jayfella.jme.jfx.util.FrameBufferArena;
 import com.jayfella.jme.jfx.util.JfxPlatform;
+import com.jayfella.jme.jfx.util.PixelSwizzle;
 import com.jme3.app.Application;
 import com.jme3.app.state.AbstractAppState;
 import com.jme3.app.state.AppState;
 import com.jme3.app.state.AppStateManager;
 import com.jme3.asset.AssetManager;
 import com.jme3.input.InputManager;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Renderer;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial.CullHint;
 import com.jme3.system.JmeContext;
 import com.jme3.texture.Image;
 import com.jme3.texture.Image.Format;
+import com.jme3.texture.Texture.MinFilter;
 import com.jme3.texture.Texture2D;
 import com.jme3.texture.image.ColorSpace;
 import com.jme3.ui.Picture;
-import com.jme3.util.BufferUtils;
 import com.sun.glass.ui.Pixels;
 import com.sun.javafx.cursor.CursorFrame;
 import com.sun.javafx.embed.AbstractEvents;
@@ -65,9 +69,13 @@ import com.sun.javafx.embed.EmbeddedStageInterface;
 import com.sun.javafx.embed.HostInterface;
 import com.sun.javafx.stage.EmbeddedWindow;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.scene.Group;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.util.Duration;
 
 /**
  * The container which interacts with jME and includes javaFX scene.
@@ -78,7 +86,20 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JfxPlatform.class);
 
-    private static final int MIN_RESIZE_INTERVAL = 300;
+    /**
+     * The default max ratio of the changed area to the frame area to upload the changes as a sub-image.
+     */
+    public static final float DEFAULT_PARTIAL_UPLOAD_THRESHOLD = 0.5F;
+
+    /**
+     * The default min alpha of pixels which are covered by javaFX.
+     */
+    public static final int DEFAULT_COVERAGE_ALPHA_THRESHOLD = 1;
+
+    /**
+     * The default time in milliseconds of the stable window size to resize the scene.
+     */
+    public static final long DEFAULT_RESIZE_QUIET_PERIOD = 150;
 
     /**
      * Build the JavaFX container for the application.
@@ -113,40 +134,13 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         return container;
     }
 
-    // TODO benchmark
     private static Void reorder_ARGB82ABGR8(final ByteBuffer data) {
-
-        final int limit = data.limit() - 3;
-
-        byte v;
-
-        for (int i = 0; i < limit; i += 4) {
-            v = data.get(i + 1);
-            data.put(i + 1, data.get(i + 3));
-            data.put(i + 3, v);
-        }
-
+        PixelSwizzle.reorderARGB8ToABGR8(data);
         return null;
     }
 
-    // TODO benchmark
     private static Void reorder_BGRA82ABGR8(final ByteBuffer data) {
-
-        final int limit = data.limit() - 3;
-
-        byte v0, v1, v2, v3;
-
-        for (int i = 0; i < limit; i += 4) {
-            v0 = data.get(i);
-            v1 = data.get(i + 1);
-            v2 = data.get(i + 2);
-            v3 = data.get(i + 3);
-            data.put(i, v3);
-            data.put(i + 1, v0);
-            data.put(i + 2, v1);
-            data.put(i + 3, v2);
-        }
-
+        PixelSwizzle.reorderBGRA8ToABGR8(data);
         return null;
     }
 
@@ -158,22 +152,13 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         @Override
         public void cleanup() {
             Platform.exit();
+            releaseBuffers();
             super.cleanup();
         }
     };
 
     protected volatile CompletableFuture<Format> nativeFormat = new CompletableFuture<>();
 
-    /**
-     * The count of frames which need to write to JME.
-     */
-    private final AtomicInteger waitCount;
-
-    /**
-     * The lock to control transfer frames from javaFX to JME.
-     */
-    private final AsyncReadSyncWriteLock imageLock;
-
     /**
      * The image node to present javaFX scene.
      */
@@ -240,24 +225,24 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     protected volatile Image jmeImage;
 
     /**
-     * The data of javaFX frame on the jME side.
+     * The frame buffers which are used by javaFX thread.
      */
-    protected volatile ByteBuffer jmeData;
+    protected volatile FrameSwapChain fxSwapChain;
 
     /**
-     * The data buffer of javaFX frame on javaFX side.
+     * The frame buffers which are used by jME thread.
      */
-    protected volatile ByteBuffer fxData;
+    protected volatile FrameSwapChain jmeSwapChain;
 
     /**
-     * The temp data to transfer frames between javaFX and jME.
+     * The data of changed pixels to upload to the jME texture.
      */
-    protected volatile ByteBuffer tempData;
+    protected volatile ByteBuffer uploadData;
 
     /**
-     * The int presentation of the {@link #tempData}.
+     * The image to upload changed pixels to the jME texture.
      */
-    protected volatile IntBuffer tempIntData;
+    protected volatile Image uploadImage;
 
     /**
      * The function to reorder pixels.
@@ -265,9 +250,89 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     protected volatile Function<ByteBuffer, Void> reorderData;
 
     /**
-     * The time of last resized window.
+     * The max ratio of the changed area to the frame area to upload the changes as a sub-image.
+     */
+    protected volatile float partialUploadThreshold;
+
+    /**
+     * The min alpha of pixels which are covered by javaFX.
+     */
+    protected volatile int coverageAlphaThreshold;
+
+    /**
+     * The shift of the size of blocks of pixels which are checked together for hit tests.
+     */
+    protected volatile int coverageCellShift;
+
+    /**
+     * The policy to decide whether a point is covered by javaFX UI.
+     */
+    protected volatile HitTestPolicy hitTestPolicy;
+
+    /**
+     * The index of covering nodes of the scene for {@link HitTestPolicy#SCENE_GRAPH}.
+     */
+    protected volatile SceneHitIndex sceneHitIndex;
+
+    /**
+     * True if the scene graph or its layout was changed since building the scene hit index.
+     */
+    protected volatile boolean sceneHitIndexOutdated;
+
+    /**
+     * The listener of layout requests of the scene root which outdates the scene hit index.
+     */
+    private final ChangeListener<Boolean> sceneLayoutListener;
+
+    /**
+     * The max count of drawn frames per second, 0 is unlimited.
+     */
+    protected volatile int maxFrameRate;
+
+    /**
+     * The time of the last drawn frame in nanoseconds, it's used only by javaFX thread.
+     */
+    private long lastFrameTime;
+
+    /**
+     * The timer of the delayed redraw, it's used only by javaFX thread.
+     */
+    private PauseTransition redrawTimer;
+
+    /**
+     * The flag of the scheduled redraw, it's used only by javaFX thread.
+     */
+    private boolean redrawScheduled;
+
+    /**
+     * The time in milliseconds of the stable window size to resize the scene.
+     */
+    protected volatile long resizeQuietPeriod;
+
+    /**
+     * The width of the window which is waiting for the quiet period, it's used only by jME thread.
+     */
+    private int pendingWidth;
+
+    /**
+     * The height of the window which is waiting for the quiet period, it's used only by jME thread.
+     */
+    private int pendingHeight;
+
+    /**
+     * The time of the last change of the pending size, it's used only by jME thread.
      */
-    protected volatile long lastResized;
+    private long pendingSince;
+
+    /**
+     * The frame buffers which present the current jME image, it's used only by jME thread.
+     */
+    private FrameSwapChain imageSwapChain;
+
+    /**
+     * The owner of frame buffers of this container.
+     */
+    private final FrameBufferArena.Owner bufferOwner = FrameBufferArena.getDefault().createOwner("JmeFxContainer");
 
     /**
      * The width of javaFX scene.
@@ -315,8 +380,13 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         this.positionY = -1;
         this.positionX = -1;
         this.jmeContext = application.getContext();
-        this.waitCount = new AtomicInteger();
-        this.imageLock = new FinalAtomicReadWriteLock(); // LockFactory.newAtomicARSWLock();
+        this.partialUploadThreshold = DEFAULT_PARTIAL_UPLOAD_THRESHOLD;
+        this.coverageAlphaThreshold = DEFAULT_COVERAGE_ALPHA_THRESHOLD;
+        this.hitTestPolicy = HitTestPolicy.PIXEL_ALPHA;
+        this.sceneLayoutListener = (observable, oldValue, needsLayout) -> {
+            if (needsLayout) sceneHitIndexOutdated = true;
+        };
+        this.resizeQuietPeriod = DEFAULT_RESIZE_QUIET_PERIOD;
         this.cursorProvider = cursorProvider;
         this.application = application;
         this.visibleCursor = true;
@@ -330,6 +400,8 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         this.picture.move(0, 0, -1);
         this.picture.setPosition(0, 0);
         this.texture = new Texture2D(new Image());
+        // only the base level is updated by partial uploads
+        this.texture.setMinFilter(MinFilter.BilinearNoMipMaps);
         this.picture.setTexture(assetManager, texture, true);
 
         fitSceneToWindowSize();
@@ -344,22 +416,14 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         return true;
     }
 
-    /**
-     * Sets the last timestamp of context resizing.
-     *
-     * @param time the last timestamp of context resizing.
-     */
-    private void setLastResized(final long time) {
-        this.lastResized = time;
+    @Override
+    public long getResizeQuietPeriod() {
+        return resizeQuietPeriod;
     }
 
-    /**
-     * Gets the last timestamp of context resizing.
-     *
-     * @return the last timestamp of context resizing.
-     */
-    private long getLastResized() {
-        return lastResized;
+    @Override
+    public void setResizeQuietPeriod(final long resizeQuietPeriod) {
+        this.resizeQuietPeriod = Math.max(0, resizeQuietPeriod);
     }
 
     @Override
@@ -377,15 +441,6 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         return cursorProvider;
     }
 
-    /**
-     * Gets the lock to control transferring frames.
-     *
-     * @return the lock.
-     */
-    private AsyncReadSyncWriteLock getImageLock() {
-        return imageLock;
-    }
-
     @Override
     public JmeFXInputListener getInputListener() {
         return inputListener;
@@ -446,6 +501,7 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public void setSceneHeight(final int sceneHeight) {
         this.sceneHeight = sceneHeight;
+        this.sceneHitIndexOutdated = true;
     }
 
     @Override
@@ -456,6 +512,7 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public void setSceneWidth(final int sceneWidth) {
         this.sceneWidth = sceneWidth;
+        this.sceneHitIndexOutdated = true;
     }
 
     @Override
@@ -513,57 +570,144 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     }
 
     /**
-     * Gets the data buffer of javaFX frame on javaFX side.
+     * Gets the frame buffers which are used by javaFX thread.
      *
-     * @return the data buffer.
+     * @return the frame buffers of javaFX thread.
      */
-    private ByteBuffer getFxData() {
-        return fxData;
+    private FrameSwapChain getFxSwapChain() {
+        return fxSwapChain;
     }
 
     /**
-     * Gets the data of javaFX frame on the jME side.
+     * Gets the frame buffers which are used by jME thread.
      *
-     * @return the data of javaFX frame on the jME side.
+     * @return the frame buffers of jME thread.
      */
-    private ByteBuffer getJmeData() {
-        return jmeData;
+    private FrameSwapChain getJmeSwapChain() {
+        return jmeSwapChain;
     }
 
     /**
-     * Gets the temp data to transfer frames between javaFX and jME.
+     * Gets the data of changed pixels to upload to the jME texture.
      *
-     * @return the temp data to transfer frames between javaFX and jME.
+     * @return the data of changed pixels.
      */
-    private ByteBuffer getTempData() {
-        return tempData;
+    private ByteBuffer getUploadData() {
+        return uploadData;
     }
 
     /**
-     * Gets the int presentation of the tempData.
+     * Gets the image to upload changed pixels to the jME texture.
      *
-     * @return the int presentation of the tempData.
+     * @return the image to upload changed pixels.
+     */
+    private Image getUploadImage() {
+        return uploadImage;
+    }
+
+    @Override
+    public float getPartialUploadThreshold() {
+        return partialUploadThreshold;
+    }
+
+    @Override
+    public void setPartialUploadThreshold(final float partialUploadThreshold) {
+        this.partialUploadThreshold = Math.max(0F, Math.min(partialUploadThreshold, 1F));
+    }
+
+    @Override
+    public int getCoverageAlphaThreshold() {
+        return coverageAlphaThreshold;
+    }
+
+    @Override
+    public void setCoverageAlphaThreshold(final int coverageAlphaThreshold) {
+        this.coverageAlphaThreshold = Math.max(1, Math.min(coverageAlphaThreshold, 255));
+        updateCoverage();
+    }
+
+    @Override
+    public int getCoverageBlockSize() {
+        return 1 << coverageCellShift;
+    }
+
+    @Override
+    public void setCoverageBlockSize(final int coverageBlockSize) {
+        final int blockSize = Math.max(1, Math.min(coverageBlockSize, 1 << CoverageMask.MAX_CELL_SHIFT));
+        this.coverageCellShift = Integer.numberOfTrailingZeros(Integer.highestOneBit(blockSize));
+        updateCoverage();
+    }
+
+    @Override
+    public int getMaxFrameRate() {
+        return maxFrameRate;
+    }
+
+    @Override
+    public void setMaxFrameRate(final int maxFrameRate) {
+        this.maxFrameRate = Math.max(0, maxFrameRate);
+    }
+
+    @Override
+    public HitTestPolicy getHitTestPolicy() {
+        return hitTestPolicy;
+    }
+
+    @Override
+    public void setHitTestPolicy(final HitTestPolicy hitTestPolicy) {
+        this.hitTestPolicy = requireNonNull(hitTestPolicy);
+
+        if (hitTestPolicy == HitTestPolicy.SCENE_GRAPH) {
+            this.sceneHitIndexOutdated = true;
+            JfxPlatform.runInFxThread(this::updateSceneHitIndex);
+        } else {
+            this.sceneHitIndex = null;
+        }
+    }
+
+    /**
+     * Rebuilds the index of covering nodes of the scene if it's used and the scene graph or its layout was changed
+     * since the last build, it's called only by javaFX thread.
      */
-    private IntBuffer getTempIntData() {
-        return tempIntData;
+    private void updateSceneHitIndex() {
+
+        if (getHitTestPolicy() != HitTestPolicy.SCENE_GRAPH || !sceneHitIndexOutdated) {
+            return;
+        }
+
+        final Scene scene = getScene();
+        final Parent root = scene == null ? null : scene.getRoot();
+
+        // the index waits for the layout of the requested changes
+        if (root != null && root.isNeedsLayout()) {
+            return;
+        }
+
+        sceneHitIndexOutdated = false;
+
+        this.sceneHitIndex = SceneHitIndex.build(root, getSceneWidth(), getSceneHeight());
     }
 
     /**
-     * Gets the texture to present javaFX scene.
-     *
-     * @return the texture to present javaFX scene.
+     * Applies the parameters of the coverage to the current frame buffers and redraws the scene.
      */
-    private Texture2D getTexture() {
-        return texture;
+    private void updateCoverage() {
+
+        final FrameSwapChain swapChain = getJmeSwapChain();
+
+        if (swapChain != null) {
+            swapChain.setCoverage(coverageCellShift, coverageAlphaThreshold);
+            JfxPlatform.runInFxThread(hostInterface::repaint);
+        }
     }
 
     /**
-     * Gets the the count of waited frames.
+     * Gets the texture to present javaFX scene.
      *
-     * @return the count of waited frames.
+     * @return the texture to present javaFX scene.
      */
-    private AtomicInteger getWaitCount() {
-        return waitCount;
+    private Texture2D getTexture() {
+        return texture;
     }
 
     @Override
@@ -583,83 +727,160 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public void fitSceneToWindowSize() {
 
-        final long time = System.currentTimeMillis();
-        if (time - getLastResized() < MIN_RESIZE_INTERVAL) {
+        final JmeContext jmeContext = getJmeContext();
+
+        final int textureWidth = Math.max(JmeWindowUtils.getWidth(jmeContext), 64);
+        final int textureHeight = Math.max(JmeWindowUtils.getHeight(jmeContext), 64);
+
+        final Picture picture = getPicture();
+        final Vector3f pictureSize = picture.getLocalScale();
+
+        // the last frame is stretched to the window until the scene is resized
+        if (pictureSize.getX() != textureWidth || pictureSize.getY() != textureHeight) {
+            picture.setWidth(textureWidth);
+            picture.setHeight(textureHeight);
+        }
+
+        if (textureWidth == getSceneWidth() && textureHeight == getSceneHeight()) {
+            // the window got back to the size of the scene, a later change waits for the whole quiet period
+            pendingWidth = 0;
+            pendingHeight = 0;
+            pendingSince = 0;
             return;
         }
 
-        final JmeContext jmeContext = getJmeContext();
+        final long time = System.currentTimeMillis();
+
+        if (textureWidth != pendingWidth || textureHeight != pendingHeight) {
+            pendingWidth = textureWidth;
+            pendingHeight = textureHeight;
+            pendingSince = time;
+        }
+
+        if (getJmeSwapChain() != null && time - pendingSince < getResizeQuietPeriod()) {
+            return;
+        }
 
-        final int winWidth = JmeWindowUtils.getWidth(jmeContext);
-        final int winHeight = JmeWindowUtils.getHeight(jmeContext);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Fit the scene to window size from [" + getSceneWidth() + "x" + getSceneHeight() + "] to "
+                    + "[" + textureWidth + "x" + textureHeight + "]");
+        }
 
-        final AsyncReadSyncWriteLock lock = getImageLock();
-        lock.syncLock();
         try {
 
-            final int textureWidth = Math.max(winWidth, 64);
-            final int textureHeight = Math.max(winHeight, 64);
+            final FrameSwapChain prevSwapChain = getJmeSwapChain();
+            final FrameSwapChain swapChain = new FrameSwapChain(textureWidth, textureHeight, bufferOwner);
+            swapChain.setCoverage(coverageCellShift, coverageAlphaThreshold);
 
-            final Picture picture = getPicture();
+            this.jmeSwapChain = swapChain;
 
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Fit the scene to window size from [" + getSceneWidth() + "x" + getSceneHeight() + "] to "
-                        + "[" + textureWidth + "x" + textureHeight + "]");
+            if (imageSwapChain == null) {
+                switchJmeImage(swapChain);
             }
 
-            picture.setWidth(textureWidth);
-            picture.setHeight(textureHeight);
+            setSceneHeight(textureHeight);
+            setSceneWidth(textureWidth);
 
-            final ByteBuffer fxData = getFxData();
-            if (fxData != null) {
-                BufferUtils.destroyDirectBuffer(fxData);
-            }
+            JfxPlatform.runInFxThread(() -> switchFxSwapChain(swapChain, prevSwapChain));
 
-            final ByteBuffer tempData = getTempData();
-            if (tempData != null) {
-                BufferUtils.destroyDirectBuffer(tempData);
-            }
+        } catch (final Exception e) {
+            LOGGER.warn("error", e);
+        }
+    }
 
-            final ByteBuffer jmeData = getJmeData();
-            if (jmeData != null) {
-                BufferUtils.destroyDirectBuffer(jmeData);
-            }
+    /**
+     * Switches the jME image to the front buffer of the frame buffers and releases the frame buffers of the
+     * previous image, it's called only by jME thread.
+     *
+     * @param swapChain the frame buffers.
+     * @throws Exception if the native format isn't available.
+     */
+    private void switchJmeImage(final FrameSwapChain swapChain) throws Exception {
 
-            final Image jmeImage = getJmeImage();
-            if (jmeImage != null) {
-                jmeImage.dispose();
-            }
+        final Image prevImage = getJmeImage();
+        if (prevImage != null) {
+            prevImage.dispose();
+        }
 
-            this.fxData = BufferUtils.createByteBuffer(textureWidth * textureHeight * 4);
-            this.tempData = BufferUtils.createByteBuffer(textureWidth * textureHeight * 4);
-            this.tempIntData = getTempData().asIntBuffer();
-            this.jmeData = BufferUtils.createByteBuffer(textureWidth * textureHeight * 4);
-            this.jmeImage = new Image(nativeFormat.get(), textureWidth, textureHeight, getJmeData(), ColorSpace.sRGB);
+        this.jmeImage = new Image(nativeFormat.get(), swapChain.getWidth(), swapChain.getHeight(),
+                swapChain.getFrontBuffer(), ColorSpace.sRGB);
 
-            final Texture2D texture = getTexture();
-            texture.setImage(getJmeImage());
+        final Texture2D texture = getTexture();
+        texture.setImage(getJmeImage());
 
-            setSceneHeight(textureHeight);
-            setSceneWidth(textureWidth);
+        final FrameSwapChain prevSwapChain = imageSwapChain;
+        this.imageSwapChain = swapChain;
 
-            final EmbeddedStageInterface stageInterface = getStageInterface();
-            final EmbeddedSceneInterface sceneInterface = getSceneInterface();
+        if (prevSwapChain != null) {
+            // javaFX thread has published a frame to the new frame buffers, so it doesn't use previous ones
+            releaseSwapChain(prevSwapChain);
+        }
+    }
 
-            if (stageInterface != null && sceneInterface != null) {
-                JfxPlatform.runInFxThread(() -> {
-                    stageInterface.setSize(textureWidth, textureHeight);
-                    sceneInterface.setSize(textureWidth, textureHeight);
-                    hostInterface.repaint();
-                });
-            }
+    /**
+     * Returns the frame buffers to the arena if they are not used by the jME image anymore, it's called only
+     * by jME thread.
+     *
+     * @param swapChain the frame buffers which aren't used by javaFX thread.
+     */
+    private void releaseSwapChain(final FrameSwapChain swapChain) {
+        if (swapChain != imageSwapChain) {
+            swapChain.dispose();
+        }
+    }
 
-        } catch (final Exception e) {
-            LOGGER.warn("error", e);
-        } finally {
-            lock.syncUnlock();
+    /**
+     * Returns all frame buffers to the arena and closes the owner of buffers, it's called only by jME thread.
+     */
+    private void releaseBuffers() {
+
+        final FrameSwapChain fxSwapChain = getFxSwapChain();
+        final FrameSwapChain jmeSwapChain = getJmeSwapChain();
+
+        if (fxSwapChain != null) {
+            fxSwapChain.dispose();
+        }
+
+        if (jmeSwapChain != null) {
+            jmeSwapChain.dispose();
+        }
+
+        if (imageSwapChain != null) {
+            imageSwapChain.dispose();
+        }
+
+        bufferOwner.release(getUploadData());
+        bufferOwner.close();
+
+        this.uploadData = null;
+    }
+
+    /**
+     * Switches javaFX thread to the new frame buffers and resizes the scene.
+     *
+     * @param swapChain     the new frame buffers.
+     * @param prevSwapChain the previous frame buffers or null.
+     */
+    private void switchFxSwapChain(final FrameSwapChain swapChain, final FrameSwapChain prevSwapChain) {
+
+        this.fxSwapChain = swapChain;
+
+        final int width = swapChain.getWidth();
+        final int height = swapChain.getHeight();
+
+        final EmbeddedStageInterface stageInterface = getStageInterface();
+        final EmbeddedSceneInterface sceneInterface = getSceneInterface();
+
+        if (stageInterface != null && sceneInterface != null) {
+            stageInterface.setSize(width, height);
+            sceneInterface.setSize(width, height);
+            hostInterface.repaint();
         }
 
-        setLastResized(time);
+        if (prevSwapChain != null) {
+            // jME thread has already switched to the new frame buffers
+            getApplication().enqueue(() -> releaseSwapChain(prevSwapChain));
+        }
     }
 
     @Override
@@ -706,27 +927,22 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public boolean isCovered(final int x, final int y) {
 
-        final Image jmeImage = getJmeImage();
-        final int sceneWidth = getSceneWidth();
+        final boolean covered;
 
-        if (jmeImage == null || x < 0 || x >= sceneWidth) {
-            return false;
-        } else if (y < 0 || y >= getSceneHeight()) {
-            return false;
+        if (getHitTestPolicy() == HitTestPolicy.SCENE_GRAPH) {
+            final SceneHitIndex hitIndex = sceneHitIndex;
+            covered = hitIndex != null && hitIndex.isCovered(x, y);
+        } else {
+            final FrameSwapChain swapChain = getJmeSwapChain();
+            final CoverageMask coverageMask = swapChain == null ? null : swapChain.getCoverageMask();
+            covered = coverageMask != null && coverageMask.isCovered(x, y);
         }
 
-        final ByteBuffer data = jmeImage.getData(0);
-        data.limit(data.capacity());
-
-        final int alpha = data.get(3 + 4 * (y * sceneWidth + x));
-
-        data.limit(0);
-
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("is covered " + x + ", " + y + " = " + (alpha != 0));
+            LOGGER.debug("is covered " + x + ", " + y + " = " + covered);
         }
 
-        return alpha != 0;
+        return covered;
     }
 
     @Override
@@ -750,7 +966,8 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
 
     @Override
     public boolean isNeedWriteToJme() {
-        return waitCount.get() > 0;
+        final FrameSwapChain swapChain = getJmeSwapChain();
+        return swapChain != null && swapChain.hasNewFrame();
     }
 
     /**
@@ -785,60 +1002,80 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public void requestRedraw() {
 
-        long time = 0;
+        final int maxFrameRate = getMaxFrameRate();
 
-        if (LOGGER.isDebugEnabled()) {
-            time = System.currentTimeMillis();
-            LOGGER.debug("Started paint FX scene...");
-        }
+        if (maxFrameRate > 0) {
 
-        final EmbeddedSceneInterface sceneInterface = getSceneInterface();
-        if (sceneInterface == null) {
-            return;
+            final long now = System.nanoTime();
+            final long delay = lastFrameTime + 1_000_000_000L / maxFrameRate - now;
+
+            if (delay > 0) {
+                scheduleRedraw(delay);
+                return;
+            }
+
+            lastFrameTime = now;
         }
 
-        // final ByteBuffer tempData = notNull(getTempData());
-        final ByteBuffer tempData = getTempData();
-        tempData.clear();
+        drawFrame();
+    }
 
-        final int sceneWidth = getSceneWidth();
-        final int sceneHeight = getSceneHeight();
+    /**
+     * Schedules the redraw of the scene after the delay if it wasn't scheduled yet, so all requests between
+     * frames are collapsed into one drawing of the latest state of the scene.
+     *
+     * @param delay the delay in nanoseconds.
+     */
+    private void scheduleRedraw(final long delay) {
 
-        // if (!sceneInterface.getPixels(notNull(getTempIntData()), sceneWidth,
-        // sceneHeight)) {
-        if (!sceneInterface.getPixels(getTempIntData(), sceneWidth, sceneHeight)) {
+        if (redrawScheduled) {
             return;
         }
 
-        tempData.flip();
-        tempData.limit(sceneWidth * sceneHeight * 4);
+        PauseTransition redrawTimer = this.redrawTimer;
 
-        final AsyncReadSyncWriteLock imageLock = getImageLock();
-        imageLock.syncLock();
-        try {
+        if (redrawTimer == null) {
+            redrawTimer = new PauseTransition();
+            redrawTimer.setOnFinished(event -> {
+                redrawScheduled = false;
+                requestRedraw();
+            });
+            this.redrawTimer = redrawTimer;
+        }
 
-            // final ByteBuffer fxData = notNull(getFxData());
-            final ByteBuffer fxData = getFxData();
-            fxData.clear();
-            fxData.put(tempData);
-            fxData.flip();
+        redrawScheduled = true;
+        redrawTimer.setDuration(Duration.millis(delay / 1_000_000D));
+        redrawTimer.playFromStart();
+    }
 
-            final Function<ByteBuffer, Void> reorderData = getReorderData();
+    /**
+     * Draws a new frame of the scene to the frame buffers.
+     */
+    private void drawFrame() {
 
-            if (reorderData != null) {
-                reorderData.apply(fxData);
-                fxData.position(0);
-            }
+        long time = 0;
+
+        if (LOGGER.isDebugEnabled()) {
+            time = System.currentTimeMillis();
+            LOGGER.debug("Started paint FX scene...");
+        }
+
+        final EmbeddedSceneInterface sceneInterface = getSceneInterface();
+        final FrameSwapChain swapChain = getFxSwapChain();
+        if (sceneInterface == null || swapChain == null) {
+            return;
+        }
 
+        try {
+            updateSceneHitIndex();
+            if (!swapChain.draw(sceneInterface, getReorderData())) {
+                return;
+            }
         } catch (final Exception exc) {
             LOGGER.warn(exc.getMessage(), exc);
-        } finally {
-            imageLock.syncUnlock();
+            return;
         }
 
-        final AtomicInteger waitCount = getWaitCount();
-        waitCount.incrementAndGet();
-
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("finished paint FX scene(" + (System.currentTimeMillis() - time) + "ms.).");
         }
@@ -869,8 +1106,20 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
             return null;
         });
 
+        final Scene prevScene = this.scene;
+
+        if (prevScene != null) {
+            prevScene.getRoot().needsLayoutProperty().removeListener(sceneLayoutListener);
+        }
+
         this.scene = newScene;
 
+        if (newScene != null) {
+            newScene.getRoot().needsLayoutProperty().addListener(sceneLayoutListener);
+        }
+
+        sceneHitIndexOutdated = true;
+
         if (embeddedWindow == null && newScene != null) {
             embeddedWindow = new EmbeddedWindow(hostInterface);
         }
@@ -894,8 +1143,10 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public Void writeToJme() {
 
-        final AtomicInteger waitCount = getWaitCount();
-        final int currentCount = waitCount.get();
+        final FrameSwapChain swapChain = getJmeSwapChain();
+        if (swapChain == null || !swapChain.acquire()) {
+            return null;
+        }
 
         long time = 0;
 
@@ -904,27 +1155,29 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
             LOGGER.debug("Started writing FX data to JME...");
         }
 
-        // final ByteBuffer jmeData = notNull(getJmeData());
-        final ByteBuffer jmeData = getJmeData();
-        jmeData.clear();
-
-        final AsyncReadSyncWriteLock imageLock = getImageLock();
-        imageLock.syncLock();
-        try {
-            // jmeData.put(notNull(getFxData()));
-            jmeData.put(getFxData());
-        } finally {
-            imageLock.syncUnlock();
+        if (swapChain != imageSwapChain) {
+            try {
+                switchJmeImage(swapChain);
+            } catch (final Exception e) {
+                LOGGER.warn("error", e);
+                return null;
+            }
         }
 
-        jmeData.flip();
+        final ByteBuffer frame = swapChain.getFrontBuffer();
+        final DirtyRegion region = swapChain.getFrontRegion();
 
         // final Image jmeImage = notNull(getJmeImage());
         final Image jmeImage = getJmeImage();
-        jmeImage.setUpdateNeeded();
+        final boolean partialUpload = isPartialUploadAvailable(jmeImage, region);
 
-        // waitCount.subAndGet(currentCount);
-        waitCount.set(waitCount.get() - currentCount);
+        // the front buffer becomes the data of the image without copying
+        jmeImage.setData(0, frame);
+
+        if (partialUpload) {
+            jmeImage.clearUpdateNeeded();
+            uploadPartially(jmeImage, frame, region, swapChain.getWidth());
+        }
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Finished writing FX data to JME(" + (System.currentTimeMillis() - time) + "ms.).");
@@ -933,6 +1186,115 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         return null;
     }
 
+    /**
+     * Checks whether the region can be uploaded to the texture as a sub-image.
+     *
+     * @param jmeImage the image of the texture.
+     * @param region   the changed region.
+     * @return true if the region can be uploaded partially.
+     */
+    private boolean isPartialUploadAvailable(final Image jmeImage, final DirtyRegion region) {
+
+        if (jmeImage.getId() == -1 || jmeImage.isUpdateNeeded()) {
+            return false;
+        }
+
+        final long frameArea = (long) jmeImage.getWidth() * jmeImage.getHeight();
+        return region.getArea() <= frameArea * getPartialUploadThreshold();
+    }
+
+    /**
+     * Uploads the changed region of the frame to the texture as a sub-image, the region of full rows is uploaded
+     * straight from the frame.
+     *
+     * @param jmeImage   the image of the texture.
+     * @param frame      the data of the full frame.
+     * @param region     the changed region.
+     * @param frameWidth the width of the full frame.
+     */
+    private void uploadPartially(final Image jmeImage, final ByteBuffer frame, final DirtyRegion region,
+            final int frameWidth) {
+
+        final int regionWidth = region.getWidth();
+        final int regionHeight = region.getHeight();
+        final int rowLength = regionWidth * 4;
+
+        final ByteBuffer source = frame.duplicate();
+        final ByteBuffer uploadData;
+
+        if (regionWidth == frameWidth) {
+            final int offset = region.getMinY() * rowLength;
+            source.limit(offset + rowLength * regionHeight);
+            source.position(offset);
+            uploadData = source.slice();
+        } else {
+            uploadData = copyToUploadData(source, region, frameWidth);
+        }
+
+        Image uploadImage = getUploadImage();
+
+        if (uploadImage == null || uploadImage.getFormat() != jmeImage.getFormat()) {
+            uploadImage = new Image(jmeImage.getFormat(), regionWidth, regionHeight, uploadData, ColorSpace.sRGB);
+            this.uploadImage = uploadImage;
+        } else {
+            uploadImage.setWidth(regionWidth);
+            uploadImage.setHeight(regionHeight);
+            uploadImage.setData(0, uploadData);
+        }
+
+        final Renderer renderer = getApplication().getRenderer();
+        renderer.modifyTexture(getTexture(), uploadImage, region.getMinX(), region.getMinY());
+    }
+
+    /**
+     * Copies the pixels of the region to the data of changed pixels.
+     *
+     * @param source     the data of the full frame.
+     * @param region     the changed region.
+     * @param frameWidth the width of the full frame.
+     * @return the data of changed pixels.
+     */
+    private ByteBuffer copyToUploadData(final ByteBuffer source, final DirtyRegion region, final int frameWidth) {
+
+        final int dataLength = region.getWidth() * region.getHeight() * 4;
+
+        ByteBuffer uploadData = getUploadData();
+
+        if (uploadData == null || uploadData.capacity() < dataLength) {
+            bufferOwner.release(uploadData);
+            uploadData = bufferOwner.allocate(FrameBufferArena.getSizeClass(dataLength));
+            this.uploadData = uploadData;
+        }
+
+        copyRegion(source, region, frameWidth, uploadData);
+        return uploadData;
+    }
+
+    /**
+     * Copies the rows of the region from the frame to the target buffer.
+     *
+     * @param source     the pixels of the frame.
+     * @param region     the region to copy.
+     * @param frameWidth the width of the frame.
+     * @param target     the target buffer, it's flipped after copying.
+     */
+    static void copyRegion(final ByteBuffer source, final DirtyRegion region, final int frameWidth,
+            final ByteBuffer target) {
+
+        final int rowLength = region.getWidth() * 4;
+
+        target.clear();
+
+        for (int y = region.getMinY(), maxY = region.getMaxY(); y < maxY; y++) {
+            final int offset = (y * frameWidth + region.getMinX()) * 4;
+            source.limit(offset + rowLength);
+            source.position(offset);
+            target.put(source);
+        }
+
+        target.flip();
+    }
+
     @Override
     public void requestEnabled(final boolean enabled) {
         this.enabled = enabled;
@@ -176,7 +176,7 @@ public interface JmeFxContainerInternal extends JmeFxContainer {
     void setStageInterface(EmbeddedStageInterface stageInterface);
 
     /**
-     * Fit scene to window size.
+     * Fit scene to window size, it's called by every update of jME.
      */
     void fitSceneToWindowSize();
 
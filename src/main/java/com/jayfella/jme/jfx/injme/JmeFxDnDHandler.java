@@ -104,12 +104,10 @@ public class JmeFxDnDHandler implements HostDragStartListener {
             final int width = imageData.getInt();
             final int height = imageData.getInt();
 
-            final byte[] pixels = new byte[imageData.remaining()];
-            imageData.get(pixels);
-
+            // the pixels are read straight from the drag image data after the size
             final WritableImage resultImage = new WritableImage(width, height);
             final PixelWriter writer = resultImage.getPixelWriter();
-            writer.setPixels(0, 0, width, height, getByteBgraInstance(), pixels, 0, width * 4);
+            writer.setPixels(0, 0, width, height, getByteBgraInstance(), imageData, width * 4);
 
             dragImage = new ImageView(resultImage);
             dragImage.setStyle("dragimage:true;");
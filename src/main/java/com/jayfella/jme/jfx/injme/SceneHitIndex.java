@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injme;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.Region;
+
+/**
+ * The immutable grid of scene bounds of nodes which cover the scene for {@link HitTestPolicy#SCENE_GRAPH}.
+ * <p>
+ * The index is built by javaFX thread and can be queried by any thread after a safe publication.
+ */
+public final class SceneHitIndex {
+
+    /**
+     * The shift of the cell size of the grid, the cell has 32x32 pixels.
+     */
+    private static final int CELL_SHIFT = 5;
+
+    /**
+     * The count of cells per row.
+     */
+    private final int cellsX;
+
+    /**
+     * The count of cells per column.
+     */
+    private final int cellsY;
+
+    /**
+     * The bounds of nodes as minX, minY, maxX, maxY.
+     */
+    private final float[] bounds;
+
+    /**
+     * The start of the items of every cell in the items array, the last element is the count of items.
+     */
+    private final int[] cellStarts;
+
+    /**
+     * The indexes of bounds per cell.
+     */
+    private final int[] cellItems;
+
+    private SceneHitIndex(final int cellsX, final int cellsY, final float[] bounds, final int[] cellStarts,
+            final int[] cellItems) {
+        this.cellsX = cellsX;
+        this.cellsY = cellsY;
+        this.bounds = bounds;
+        this.cellStarts = cellStarts;
+        this.cellItems = cellItems;
+    }
+
+    /**
+     * Builds the index of the nodes of the tree, it's called only by javaFX thread.
+     *
+     * @param root   the root of the tree.
+     * @param width  the width of the scene.
+     * @param height the height of the scene.
+     * @return the new index.
+     */
+    public static SceneHitIndex build(final Parent root, final int width, final int height) {
+
+        final Builder builder = new Builder(width, height);
+
+        if (root != null) {
+            builder.visit(root, 0, 0, width, height);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Checks the point of the scene.
+     *
+     * @param x the X coordinate.
+     * @param y the Y coordinate.
+     * @return true if the point is covered by a node.
+     */
+    public boolean isCovered(final int x, final int y) {
+
+        final int cellX = x >> CELL_SHIFT;
+        final int cellY = y >> CELL_SHIFT;
+
+        if (x < 0 || y < 0 || cellX >= cellsX || cellY >= cellsY) {
+            return false;
+        }
+
+        final int cell = cellY * cellsX + cellX;
+        final float pointX = x + 0.5F;
+        final float pointY = y + 0.5F;
+
+        for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+
+            final int offset = cellItems[i] * 4;
+
+            if (pointX >= bounds[offset] && pointY >= bounds[offset + 1] && pointX < bounds[offset + 2]
+                    && pointY < bounds[offset + 3]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the count of indexed bounds.
+     */
+    public int getSize() {
+        return bounds.length / 4;
+    }
+
+    /**
+     * The collector of bounds of the tree.
+     */
+    private static final class Builder {
+
+        private final int width;
+
+        private final int height;
+
+        private float[] bounds;
+
+        private int size;
+
+        private Builder(final int width, final int height) {
+            this.width = width;
+            this.height = height;
+            this.bounds = new float[64];
+        }
+
+        /**
+         * Collects bounds of the node and its children inside of the clip.
+         */
+        private void visit(final Node node, final float clipMinX, final float clipMinY, final float clipMaxX,
+                final float clipMaxY) {
+
+            if (!node.isVisible() || node.isMouseTransparent()) {
+                return;
+            }
+
+            final Object covered = node.hasProperties() ? node.getProperties().get(HitTestPolicy.NODE_COVERED) : null;
+
+            if (Boolean.FALSE.equals(covered)) {
+                return;
+            }
+
+            final Bounds sceneBounds = node.localToScene(node.getBoundsInLocal());
+
+            if (Boolean.TRUE.equals(covered) || !(node instanceof Parent)) {
+                add(sceneBounds, clipMinX, clipMinY, clipMaxX, clipMaxY);
+                return;
+            }
+
+            final boolean layer = node.hasProperties()
+                    && Boolean.TRUE.equals(node.getProperties().get(HitTestPolicy.NODE_LAYER));
+
+            if (!layer && (node.isPickOnBounds() || hasDecoration(node))) {
+                add(sceneBounds, clipMinX, clipMinY, clipMaxX, clipMaxY);
+            }
+
+            float minX = clipMinX;
+            float minY = clipMinY;
+            float maxX = clipMaxX;
+            float maxY = clipMaxY;
+
+            final Node clip = node.getClip();
+
+            if (clip != null) {
+                final Bounds clipBounds = node.localToScene(clip.getBoundsInParent());
+                minX = Math.max(minX, (float) clipBounds.getMinX());
+                minY = Math.max(minY, (float) clipBounds.getMinY());
+                maxX = Math.min(maxX, (float) clipBounds.getMaxX());
+                maxY = Math.min(maxY, (float) clipBounds.getMaxY());
+            }
+
+            if (minX >= maxX || minY >= maxY) {
+                return;
+            }
+
+            for (final Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                visit(child, minX, minY, maxX, maxY);
+            }
+        }
+
+        private boolean hasDecoration(final Node node) {
+
+            if (!(node instanceof Region)) {
+                return false;
+            }
+
+            final Region region = (Region) node;
+
+            return (region.getBackground() != null && !region.getBackground().isEmpty())
+                    || (region.getBorder() != null && !region.getBorder().isEmpty());
+        }
+
+        private void add(final Bounds sceneBounds, final float clipMinX, final float clipMinY,
+                final float clipMaxX, final float clipMaxY) {
+
+            final float minX = Math.max(clipMinX, (float) sceneBounds.getMinX());
+            final float minY = Math.max(clipMinY, (float) sceneBounds.getMinY());
+            final float maxX = Math.min(clipMaxX, (float) sceneBounds.getMaxX());
+            final float maxY = Math.min(clipMaxY, (float) sceneBounds.getMaxY());
+
+            if (minX >= maxX || minY >= maxY) {
+                return;
+            }
+
+            if (bounds.length < (size + 1) * 4) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+
+            final int offset = size * 4;
+
+            bounds[offset] = minX;
+            bounds[offset + 1] = minY;
+            bounds[offset + 2] = maxX;
+            bounds[offset + 3] = maxY;
+
+            size++;
+        }
+
+        private SceneHitIndex build() {
+
+            final int cellSize = 1 << CELL_SHIFT;
+            final int cellsX = Math.max(1, (width + cellSize - 1) >> CELL_SHIFT);
+            final int cellsY = Math.max(1, (height + cellSize - 1) >> CELL_SHIFT);
+            final int[] cellStarts = new int[cellsX * cellsY + 1];
+
+            // count items per cell, then fill cells from their starts
+            for (int i = 0; i < size; i++) {
+                forEachCell(i, cellsX, cellsY, cell -> cellStarts[cell + 1]++);
+            }
+
+            for (int cell = 0; cell < cellsX * cellsY; cell++) {
+                cellStarts[cell + 1] += cellStarts[cell];
+            }
+
+            final int[] cellItems = new int[cellStarts[cellsX * cellsY]];
+            final int[] cellEnds = Arrays.copyOf(cellStarts, cellsX * cellsY);
+
+            for (int i = 0; i < size; i++) {
+                final int item = i;
+                forEachCell(i, cellsX, cellsY, cell -> cellItems[cellEnds[cell]++] = item);
+            }
+
+            return new SceneHitIndex(cellsX, cellsY, Arrays.copyOf(bounds, size * 4), cellStarts, cellItems);
+        }
+
+        private void forEachCell(final int item, final int cellsX, final int cellsY,
+                final IntConsumer action) {
+
+            final int offset = item * 4;
+            final int minCellX = Math.max(0, (int) bounds[offset] >> CELL_SHIFT);
+            final int minCellY = Math.max(0, (int) bounds[offset + 1] >> CELL_SHIFT);
+            final int maxCellX = Math.min(cellsX - 1, (int) Math.ceil(bounds[offset + 2] - 1) >> CELL_SHIFT);
+            final int maxCellY = Math.min(cellsY - 1, (int) Math.ceil(bounds[offset + 3] - 1) >> CELL_SHIFT);
+
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    action.accept(cellY * cellsX + cellX);
+                }
+            }
+        }
+    }
+}
@@ -35,6 +35,8 @@ import static java.util.Objects.requireNonNull;
 import java.awt.event.KeyEvent;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import com.jayfella.jme.jfx.injme.JmeFxContainerInternal;
@@ -60,11 +62,33 @@ import javafx.scene.Scene;
 
 /**
  * Converts Jme Events to JavaFx Events
+ * <p>
+ * Mouse events between {@link #beginInput()} and {@link #endInput()} are collected to a batch which is replayed in
+ * order by one javaFX task, batches of several frames before the task runs are replayed by the same run. At most
+ * {@link #MAX_READY_BATCHES} batches wait for javaFX thread, while javaFX thread is behind the current batch keeps
+ * collecting events of next frames and merges consecutive motion events, button events are never merged.
  *
  * @author Heist, JavaSaBr
  */
 public class JmeFXInputListener implements RawInputListener {
 
+    /**
+     * The max count of batches which wait for replaying in javaFX thread.
+     */
+    public static final int MAX_READY_BATCHES = 4;
+
+    /**
+     * The initial size of the key char set, it covers usual key codes.
+     */
+    private static final int KEY_CHAR_SET_SIZE = 0x100;
+
+    /**
+     * The paging of cached single char arrays.
+     */
+    private static final int KEY_CHAR_PAGE_BITS = 8;
+    private static final int KEY_CHAR_PAGE_MASK = (1 << KEY_CHAR_PAGE_BITS) - 1;
+    private static final int KEY_CHAR_PAGES = (Character.MAX_VALUE + 1) >>> KEY_CHAR_PAGE_BITS;
+
     /**
      * The javaFX container.
      */
@@ -76,14 +100,14 @@ public class JmeFXInputListener implements RawInputListener {
     private final BitSet keyStateSet;
 
     /**
-     * The key char array.
+     * The pages of cached single char arrays, pages and arrays are created on demand.
      */
-    private final char[][] keyCharArray;
+    private final char[][][] keyCharPages;
 
     /**
-     * The key char set.
+     * The last chars of pressed keys by their key codes, it grows to the max used key code.
      */
-    private final char[] keyCharSet;
+    private char[] keyCharSet;
 
     /**
      * The mouse button states. Currently only left, right and middle buttons are
@@ -115,16 +139,68 @@ public class JmeFXInputListener implements RawInputListener {
      */
     private volatile JmeFxDnDHandler dndHandler;
 
+    /**
+     * The batches which wait for replaying in javaFX thread.
+     */
+    private final ConcurrentLinkedQueue<JmeFxInputBatch> readyBatches;
+
+    /**
+     * The count of batches which wait for replaying in javaFX thread.
+     */
+    private final AtomicInteger readyCount;
+
+    /**
+     * The replayed batches to reuse, there are at most {@link #MAX_READY_BATCHES} + 1 of them.
+     */
+    private final ConcurrentLinkedQueue<JmeFxInputBatch> freeBatches;
+
+    /**
+     * The task of replaying batches in javaFX thread.
+     */
+    private final JfxPlatform.CoalescedTask replayTask;
+
+    /**
+     * The batch of the current input frame, it's used only by jME thread.
+     */
+    private JmeFxInputBatch batch;
+
+    /**
+     * True if the input frame is opened by {@link #beginInput()}, it's used only by jME thread.
+     */
+    private boolean inputOpen;
+
+    /**
+     * True if consecutive motion events of a frame are merged to one javaFX event.
+     */
+    private volatile boolean motionCoalescing;
+
+    /**
+     * True if a merged motion event waits for posting, it's used only by jME thread.
+     */
+    private boolean motionPending;
+
+    /**
+     * The merged motion event, it's used only by jME thread.
+     */
+    private int pendingX;
+    private int pendingY;
+    private int pendingWheelRotation;
+    private int pendingWheelTotalRotation;
+    private int pendingType;
+    private int pendingButton;
+
     public JmeFXInputListener(final JmeFxContainerInternal container) {
         this.container = container;
         this.keyStateSet = new BitSet(0xFF);
-        this.keyCharSet = new char[Character.MAX_CODE_POINT];
+        this.keyCharSet = new char[KEY_CHAR_SET_SIZE];
+        this.keyCharPages = new char[KEY_CHAR_PAGES][][];
         this.mouseButtonState = new boolean[5];
+        this.readyBatches = new ConcurrentLinkedQueue<>();
+        this.readyCount = new AtomicInteger();
+        this.freeBatches = new ConcurrentLinkedQueue<>();
+        this.replayTask = JfxPlatform.coalesce(this::replayBatches);
+        this.batch = new JmeFxInputBatch();
         Arrays.fill(mouseButtonState, false);
-        this.keyCharArray = new char[Character.MAX_CODE_POINT][];
-        for (int i = 0, length = keyCharArray.length; i < length; i++) {
-            keyCharArray[i] = new char[]{(char) i};
-        }
     }
 
     /**
@@ -140,12 +216,124 @@ public class JmeFXInputListener implements RawInputListener {
     public void beginInput() {
         final RawInputListener adapter = getRawInputListener();
         if (adapter != null) adapter.beginInput();
+        inputOpen = true;
     }
 
     @Override
     public void endInput() {
         final RawInputListener adapter = getRawInputListener();
         if (adapter != null) adapter.endInput();
+        flushMotion();
+        inputOpen = false;
+        publishBatch();
+    }
+
+    /**
+     * Add the button event to the current batch.
+     */
+    private void postButton(final int x, final int y, final int button, final int type) {
+        batch.addButton(x, y, button, type);
+        if (!inputOpen) publishBatch();
+    }
+
+    /**
+     * Add the motion event to the current batch.
+     */
+    private void postMotion(final int x, final int y, final int wheelRotation, final int wheelTotalRotation,
+                            final int type, final int button) {
+
+        // javaFX thread is behind, so only the last position of a motion is worth keeping
+        if (readyCount.get() >= MAX_READY_BATCHES) {
+            batch.mergeMotion(x, y, wheelRotation, wheelTotalRotation, type, button);
+        } else {
+            batch.addMotion(x, y, wheelRotation, wheelTotalRotation, type, button);
+        }
+
+        if (!inputOpen) publishBatch();
+    }
+
+    /**
+     * Hand the current batch over to javaFX thread if it has events and javaFX thread isn't behind, otherwise the
+     * batch keeps collecting events until the next try.
+     */
+    private void publishBatch() {
+
+        if (batch.isEmpty() || readyCount.get() >= MAX_READY_BATCHES) {
+            return;
+        }
+
+        readyBatches.offer(batch);
+        readyCount.incrementAndGet();
+
+        final JmeFxInputBatch free = freeBatches.poll();
+        batch = free == null ? new JmeFxInputBatch() : free;
+
+        replayTask.schedule();
+    }
+
+    /**
+     * Replay the waiting batches in order, it's called only by javaFX thread.
+     */
+    private void replayBatches() {
+
+        JmeFxInputBatch batch;
+
+        while ((batch = readyBatches.poll()) != null) {
+            readyCount.decrementAndGet();
+            try {
+                replay(batch);
+            } finally {
+                batch.clear();
+                freeBatches.offer(batch);
+            }
+        }
+    }
+
+    private void replay(final JmeFxInputBatch batch) {
+
+        final int[] records = batch.getRecords();
+
+        for (int i = 0, size = batch.size(); i < size; i += JmeFxInputBatch.STRIDE) {
+            if (records[i] == JmeFxInputBatch.KIND_BUTTON) {
+                onMouseButtonEventImpl(records[i + 1], records[i + 2], records[i + 3], records[i + 4]);
+            } else {
+                onMouseMotionEventImpl(records[i + 1], records[i + 2], records[i + 3], records[i + 4],
+                        records[i + 5], records[i + 6]);
+            }
+        }
+    }
+
+    /**
+     * Checks of merging consecutive motion events of a frame.
+     *
+     * @return true if consecutive motion events are merged.
+     */
+    public boolean isMotionCoalescing() {
+        return motionCoalescing;
+    }
+
+    /**
+     * Sets the flag of merging consecutive motion events of a frame to one javaFX event with the last position and
+     * the sum of wheel rotations, button and key events are never merged or reordered.
+     *
+     * @param motionCoalescing true to merge consecutive motion events.
+     */
+    public void setMotionCoalescing(final boolean motionCoalescing) {
+        this.motionCoalescing = motionCoalescing;
+    }
+
+    /**
+     * Post the merged motion event to javaFX thread if it's waiting.
+     */
+    private void flushMotion() {
+
+        if (!motionPending) {
+            return;
+        }
+
+        motionPending = false;
+
+        postMotion(pendingX, pendingY, pendingWheelRotation, pendingWheelTotalRotation, pendingType, pendingButton);
     }
 
     /**
@@ -167,21 +355,57 @@ public class JmeFXInputListener implements RawInputListener {
     }
 
     /**
-     * Gets the key char array.
+     * Gets the cached single char array of the char.
+     *
+     * @param keyChar the char.
+     * @return the single char array.
+     */
+    private char[] getKeyCharArray(final char keyChar) {
+
+        final int pageIndex = keyChar >>> KEY_CHAR_PAGE_BITS;
+
+        char[][] page = keyCharPages[pageIndex];
+
+        if (page == null) {
+            page = new char[1 << KEY_CHAR_PAGE_BITS][];
+            keyCharPages[pageIndex] = page;
+        }
+
+        final int index = keyChar & KEY_CHAR_PAGE_MASK;
+
+        char[] chars = page[index];
+
+        if (chars == null) {
+            chars = new char[]{keyChar};
+            page[index] = chars;
+        }
+
+        return chars;
+    }
+
+    /**
+     * Gets the last char of the pressed key.
      *
-     * @return the key char array.
+     * @param keyCode the key code.
+     * @return the last char or 0.
      */
-    private char[][] getKeyCharArray() {
-        return keyCharArray;
+    private char getKeyChar(final int keyCode) {
+        return keyCode < keyCharSet.length ? keyCharSet[keyCode] : '\0';
     }
 
     /**
-     * Gets the key char set.
+     * Sets the last char of the pressed key.
      *
-     * @return the key char set.
+     * @param keyCode the key code.
+     * @param keyChar the char.
      */
-    private char[] getKeyCharSet() {
-        return keyCharSet;
+    private void setKeyChar(final int keyCode, final char keyChar) {
+
+        if (keyCode >= keyCharSet.length) {
+            keyCharSet = Arrays.copyOf(keyCharSet, Integer.highestOneBit(keyCode) << 1);
+        }
+
+        keyCharSet[keyCode] = keyChar;
     }
 
     /**
@@ -226,6 +450,8 @@ public class JmeFXInputListener implements RawInputListener {
     @Override
     public void onKeyEvent(final KeyInputEvent event) {
 
+        flushMotion();
+
         final RawInputListener adapter = getRawInputListener();
         if (adapter != null) adapter.onKeyEvent(event);
 
@@ -235,8 +461,6 @@ public class JmeFXInputListener implements RawInputListener {
 
         final BitSet keyStateSet = getKeyStateSet();
 
-        final char[][] keyCharArray = getKeyCharArray();
-        final char[] keyCharSet = getKeyCharSet();
         final char keyChar = event.getKeyChar();
 
         final int keyCode = event.getKeyCode();
@@ -245,7 +469,7 @@ public class JmeFXInputListener implements RawInputListener {
 
         final int keyState = retrieveKeyState();
 
-        if (fxKeyCode > keyCharSet.length) {
+        if (fxKeyCode > Character.MAX_CODE_POINT) {
             switch (keyChar) {
                 case '\\': {
                     fxKeyCode = KeyEvent.VK_BACK_SLASH;
@@ -263,30 +487,31 @@ public class JmeFXInputListener implements RawInputListener {
 
         if (event.isRepeating()) {
 
-            final char x = keyCharSet[fxKeyCode];
+            final char x = getKeyChar(fxKeyCode);
 
             if (container.isFocused()) {
-                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_TYPED, fxKeyCode, keyCharArray[x], keyState);
+                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_TYPED, fxKeyCode, getKeyCharArray(x), keyState);
             }
 
         } else if (event.isPressed()) {
 
-            keyCharSet[fxKeyCode] = keyChar;
+            setKeyChar(fxKeyCode, keyChar);
             keyStateSet.set(fxKeyCode);
 
             if (container.isFocused()) {
-                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_PRESSED, fxKeyCode, keyCharArray[keyChar], keyState);
-                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_TYPED, fxKeyCode, keyCharArray[keyChar], keyState);
+                final char[] chars = getKeyCharArray(keyChar);
+                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_PRESSED, fxKeyCode, chars, keyState);
+                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_TYPED, fxKeyCode, chars, keyState);
             }
 
         } else {
 
-            final char x = keyCharSet[fxKeyCode];
+            final char x = getKeyChar(fxKeyCode);
 
             keyStateSet.clear(fxKeyCode);
 
             if (container.isFocused()) {
-                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_RELEASED, fxKeyCode, keyCharArray[x], keyState);
+                sceneInterface.keyEvent(AbstractEvents.KEYEVENT_RELEASED, fxKeyCode, getKeyCharArray(x), keyState);
             }
         }
     }
@@ -294,6 +519,8 @@ public class JmeFXInputListener implements RawInputListener {
     @Override
     public void onMouseButtonEvent(final MouseButtonEvent event) {
 
+        flushMotion();
+
         final RawInputListener adapter = getRawInputListener();
         if (adapter != null) adapter.onMouseButtonEvent(event);
 
@@ -355,7 +582,7 @@ public class JmeFXInputListener implements RawInputListener {
         }
 
         if (inputManager.isCursorVisible() || event.isReleased()) {
-            JfxPlatform.runInFxThread(() -> onMouseButtonEventImpl(x, y, button, type));
+            postButton(x, y, button, type);
         }
     }
 
@@ -454,12 +681,31 @@ public class JmeFXInputListener implements RawInputListener {
             button = AbstractEvents.MOUSEEVENT_MIDDLE_BUTTON;
         }
 
-        final int finalType = type;
-        final int finalButton = button;
+        if (!inputManager.isCursorVisible()) {
+            return;
+        }
 
-        if (inputManager.isCursorVisible()) {
-            JfxPlatform.runInFxThread(() -> onMouseMotionEventImpl(x, y, wheelRotation, wheelTotalRotation, finalType, finalButton));
+        if (!isMotionCoalescing()) {
+            postMotion(x, y, wheelRotation, wheelTotalRotation, type, button);
+            return;
+        }
+
+        if (motionPending && (pendingType != type || pendingButton != button)) {
+            flushMotion();
         }
+
+        if (motionPending) {
+            pendingWheelRotation += wheelRotation;
+        } else {
+            motionPending = true;
+            pendingWheelRotation = wheelRotation;
+            pendingType = type;
+            pendingButton = button;
+        }
+
+        pendingX = x;
+        pendingY = y;
+        pendingWheelTotalRotation = wheelTotalRotation;
     }
 
     private void onMouseMotionEventImpl(int x, int y, int wheelRotation, int wheelTotalRotation, int type, int button) {
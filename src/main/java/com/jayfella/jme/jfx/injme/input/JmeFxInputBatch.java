@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injme.input;
+
+import java.util.Arrays;
+
+/**
+ * The batch of mouse events of one input frame which are replayed in javaFX thread.
+ * <p>
+ * Events are packed to int records in a reused array, so collecting events doesn't allocate after the array
+ * reaches the size of usual frames. It's filled only by jME thread and replayed only by javaFX thread.
+ *
+ * @author JavaSaBr
+ */
+class JmeFxInputBatch {
+
+    /**
+     * The kinds of records.
+     */
+    static final int KIND_BUTTON = 0;
+    static final int KIND_MOTION = 1;
+
+    /**
+     * The count of ints in a record.
+     */
+    static final int STRIDE = 7;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The records.
+     */
+    private int[] records;
+
+    /**
+     * The count of used ints.
+     */
+    private int size;
+
+    JmeFxInputBatch() {
+        this.records = new int[DEFAULT_CAPACITY * STRIDE];
+    }
+
+    /**
+     * Add the button event.
+     *
+     * @param x      the x.
+     * @param y      the y.
+     * @param button the javaFX button.
+     * @param type   the javaFX type.
+     */
+    void addButton(int x, int y, int button, int type) {
+        add(KIND_BUTTON, x, y, button, type, 0, 0);
+    }
+
+    /**
+     * Add the motion event.
+     *
+     * @param x                  the x.
+     * @param y                  the y.
+     * @param wheelRotation      the wheel rotation.
+     * @param wheelTotalRotation the total wheel rotation.
+     * @param type               the javaFX type.
+     * @param button             the javaFX button.
+     */
+    void addMotion(int x, int y, int wheelRotation, int wheelTotalRotation, int type, int button) {
+        add(KIND_MOTION, x, y, wheelRotation, wheelTotalRotation, type, button);
+    }
+
+    /**
+     * Merge the motion event to the last record if it's a motion event of the same type and button, otherwise add
+     * it. The merged record gets the new position and total rotation and sums the wheel rotations.
+     *
+     * @param x                  the x.
+     * @param y                  the y.
+     * @param wheelRotation      the wheel rotation.
+     * @param wheelTotalRotation the total wheel rotation.
+     * @param type               the javaFX type.
+     * @param button             the javaFX button.
+     */
+    void mergeMotion(int x, int y, int wheelRotation, int wheelTotalRotation, int type, int button) {
+
+        final int last = size - STRIDE;
+        final int[] records = this.records;
+
+        if (last < 0 || records[last] != KIND_MOTION || records[last + 5] != type || records[last + 6] != button) {
+            addMotion(x, y, wheelRotation, wheelTotalRotation, type, button);
+            return;
+        }
+
+        records[last + 1] = x;
+        records[last + 2] = y;
+        records[last + 3] += wheelRotation;
+        records[last + 4] = wheelTotalRotation;
+    }
+
+    private void add(int kind, int v0, int v1, int v2, int v3, int v4, int v5) {
+
+        if (size + STRIDE > records.length) {
+            records = Arrays.copyOf(records, records.length * 2);
+        }
+
+        final int[] records = this.records;
+
+        records[size] = kind;
+        records[size + 1] = v0;
+        records[size + 2] = v1;
+        records[size + 3] = v2;
+        records[size + 4] = v3;
+        records[size + 5] = v4;
+        records[size + 6] = v5;
+
+        size += STRIDE;
+    }
+
+    /**
+     * Gets the records.
+     *
+     * @return the records.
+     */
+    int[] getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets the count of used ints.
+     *
+     * @return the count of used ints.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks of existing events.
+     *
+     * @return true if this batch has no events.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all events.
+     */
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.nio.IntBuffer;
+
+/**
+ * The packed opacity mask of a frame to check pixels under the mouse without reading the frame.
+ * <p>
+ * Every bit is a square cell of pixels, the cell is covered if any of its pixels has the alpha not less
+ * than the threshold. The mask is written only by the thread which draws frames and must be published
+ * to other threads by a volatile write, a lookup is a single read of the packed bits.
+ */
+public final class CoverageMask {
+
+    /**
+     * The max shift of the cell size, cells are up to 8x8 pixels.
+     */
+    public static final int MAX_CELL_SHIFT = 3;
+
+    /**
+     * The width of the frame.
+     */
+    private final int width;
+
+    /**
+     * The height of the frame.
+     */
+    private final int height;
+
+    /**
+     * The shift of the cell size, the cell has 1 &lt;&lt; cellShift pixels per side.
+     */
+    private final int cellShift;
+
+    /**
+     * The min alpha of a covered pixel.
+     */
+    private final int alphaThreshold;
+
+    /**
+     * The count of longs per row of cells.
+     */
+    private final int wordsPerRow;
+
+    /**
+     * The packed bits of cells, row by row.
+     */
+    private final long[] bits;
+
+    /**
+     * Creates the empty mask.
+     *
+     * @param width          the width of the frame.
+     * @param height         the height of the frame.
+     * @param cellShift      the shift of the cell size from 0 to {@link #MAX_CELL_SHIFT}.
+     * @param alphaThreshold the min alpha of a covered pixel from 1 to 255.
+     */
+    public CoverageMask(final int width, final int height, final int cellShift, final int alphaThreshold) {
+
+        if (cellShift < 0 || cellShift > MAX_CELL_SHIFT) {
+            throw new IllegalArgumentException("Not supported cell shift " + cellShift);
+        } else if (alphaThreshold < 1 || alphaThreshold > 255) {
+            throw new IllegalArgumentException("Not supported alpha threshold " + alphaThreshold);
+        }
+
+        final int cellSize = 1 << cellShift;
+        final int cellsX = (width + cellSize - 1) >> cellShift;
+        final int cellsY = (height + cellSize - 1) >> cellShift;
+
+        this.width = width;
+        this.height = height;
+        this.cellShift = cellShift;
+        this.alphaThreshold = alphaThreshold;
+        this.wordsPerRow = (cellsX + 63) >>> 6;
+        this.bits = new long[wordsPerRow * cellsY];
+    }
+
+    /**
+     * Updates the cells which intersect the region from the pixels of the frame.
+     *
+     * @param pixels     the pixels of the frame.
+     * @param alphaShift the shift of the alpha in a pixel.
+     * @param region     the region of changed pixels.
+     */
+    public void update(final IntBuffer pixels, final int alphaShift, final DirtyRegion region) {
+
+        if (region.isEmpty()) {
+            return;
+        }
+
+        final int cellSize = 1 << cellShift;
+        final int cellMinX = region.getMinX() >> cellShift;
+        final int cellMinY = region.getMinY() >> cellShift;
+        final int cellMaxX = ((region.getMaxX() - 1) >> cellShift) + 1;
+        final int cellMaxY = ((region.getMaxY() - 1) >> cellShift) + 1;
+
+        for (int cellY = cellMinY; cellY < cellMaxY; cellY++) {
+
+            final int rowOffset = cellY * wordsPerRow;
+            final int minY = cellY << cellShift;
+            final int maxY = Math.min(minY + cellSize, height);
+
+            for (int cellX = cellMinX; cellX < cellMaxX; cellX++) {
+
+                final int minX = cellX << cellShift;
+                final int maxX = Math.min(minX + cellSize, width);
+                final int word = rowOffset + (cellX >>> 6);
+
+                if (isAnyCovered(pixels, alphaShift, minX, minY, maxX, maxY)) {
+                    bits[word] |= 1L << cellX;
+                } else {
+                    bits[word] &= ~(1L << cellX);
+                }
+            }
+        }
+    }
+
+    private boolean isAnyCovered(final IntBuffer pixels, final int alphaShift, final int minX, final int minY,
+            final int maxX, final int maxY) {
+
+        for (int y = minY; y < maxY; y++) {
+            for (int x = minX, offset = y * width; x < maxX; x++) {
+                if (((pixels.get(offset + x) >>> alphaShift) & 0xFF) >= alphaThreshold) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks the cell of the pixel.
+     *
+     * @param x the X coordinate of the pixel.
+     * @param y the Y coordinate of the pixel.
+     * @return true if the pixel is inside the frame and its cell is covered.
+     */
+    public boolean isCovered(final int x, final int y) {
+
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+
+        final int cellX = x >> cellShift;
+        final long word = bits[(y >> cellShift) * wordsPerRow + (cellX >>> 6)];
+
+        return (word & (1L << cellX)) != 0;
+    }
+
+    /**
+     * @return the width of the frame.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the frame.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the shift of the cell size.
+     */
+    public int getCellShift() {
+        return cellShift;
+    }
+
+    /**
+     * @return the min alpha of a covered pixel.
+     */
+    public int getAlphaThreshold() {
+        return alphaThreshold;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.nio.IntBuffer;
+
+/**
+ * The mutable rectangle of changed pixels between two frames.
+ * <p>
+ * Bounds are stored as an inclusive minimum and an exclusive maximum, the
+ * region is empty if the minimum is not less than the maximum.
+ */
+public final class DirtyRegion {
+
+    /**
+     * Computes the region of pixels which differ between two frames of the same size.
+     *
+     * @param prev   the previous frame.
+     * @param next   the next frame.
+     * @param width  the width of the frames.
+     * @param height the height of the frames.
+     * @param result the region to store the result.
+     * @return the result region, empty if the frames are equal.
+     */
+    public static DirtyRegion diff(
+            final IntBuffer prev,
+            final IntBuffer next,
+            final int width,
+            final int height,
+            final DirtyRegion result
+    ) {
+
+        result.clear();
+
+        int minY = -1;
+        int maxY = -1;
+
+        // find the first and the last changed rows
+        for (int y = 0; y < height; y++) {
+            if (!isRowEqual(prev, next, y * width, width)) {
+                minY = y;
+                break;
+            }
+        }
+
+        if (minY == -1) {
+            return result;
+        }
+
+        for (int y = height - 1; y >= minY; y--) {
+            if (!isRowEqual(prev, next, y * width, width)) {
+                maxY = y;
+                break;
+            }
+        }
+
+        int minX = width;
+        int maxX = -1;
+
+        // narrow the columns only inside of the changed rows
+        for (int y = minY; y <= maxY; y++) {
+
+            final int offset = y * width;
+
+            for (int x = 0; x < minX; x++) {
+                if (prev.get(offset + x) != next.get(offset + x)) {
+                    minX = x;
+                    break;
+                }
+            }
+
+            for (int x = width - 1; x > maxX; x--) {
+                if (prev.get(offset + x) != next.get(offset + x)) {
+                    maxX = x;
+                    break;
+                }
+            }
+
+            if (minX == 0 && maxX == width - 1) {
+                break;
+            }
+        }
+
+        return result.set(minX, minY, maxX + 1, maxY + 1);
+    }
+
+    private static boolean isRowEqual(final IntBuffer prev, final IntBuffer next, final int offset, final int width) {
+        final IntBuffer prevRow = prev.duplicate();
+        final IntBuffer nextRow = next.duplicate();
+        prevRow.limit(offset + width).position(offset);
+        nextRow.limit(offset + width).position(offset);
+        return prevRow.mismatch(nextRow) == -1;
+    }
+
+    /**
+     * The left bound (inclusive).
+     */
+    private int minX;
+
+    /**
+     * The top bound (inclusive).
+     */
+    private int minY;
+
+    /**
+     * The right bound (exclusive).
+     */
+    private int maxX;
+
+    /**
+     * The bottom bound (exclusive).
+     */
+    private int maxY;
+
+    public DirtyRegion() {
+        clear();
+    }
+
+    /**
+     * Makes this region empty.
+     *
+     * @return this region.
+     */
+    public DirtyRegion clear() {
+        this.minX = 0;
+        this.minY = 0;
+        this.maxX = 0;
+        this.maxY = 0;
+        return this;
+    }
+
+    /**
+     * Sets the bounds of this region.
+     *
+     * @param minX the left bound (inclusive).
+     * @param minY the top bound (inclusive).
+     * @param maxX the right bound (exclusive).
+     * @param maxY the bottom bound (exclusive).
+     * @return this region.
+     */
+    public DirtyRegion set(final int minX, final int minY, final int maxX, final int maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        return this;
+    }
+
+    /**
+     * Sets the bounds of this region to the bounds of the other region.
+     *
+     * @param other the other region.
+     * @return this region.
+     */
+    public DirtyRegion set(final DirtyRegion other) {
+        return set(other.minX, other.minY, other.maxX, other.maxY);
+    }
+
+    /**
+     * Sets this region to cover the full frame.
+     *
+     * @param width  the width of the frame.
+     * @param height the height of the frame.
+     * @return this region.
+     */
+    public DirtyRegion setFull(final int width, final int height) {
+        return set(0, 0, width, height);
+    }
+
+    /**
+     * Extends this region to include the other region.
+     *
+     * @param other the other region.
+     * @return this region.
+     */
+    public DirtyRegion union(final DirtyRegion other) {
+
+        if (other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return set(other);
+        }
+
+        return set(Math.min(minX, other.minX), Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+    }
+
+    /**
+     * @return true if this region doesn't contain any pixel.
+     */
+    public boolean isEmpty() {
+        return minX >= maxX || minY >= maxY;
+    }
+
+    /**
+     * @return the left bound (inclusive).
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * @return the top bound (inclusive).
+     */
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * @return the right bound (exclusive).
+     */
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * @return the bottom bound (exclusive).
+     */
+    public int getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * @return the width of this region.
+     */
+    public int getWidth() {
+        return isEmpty() ? 0 : maxX - minX;
+    }
+
+    /**
+     * @return the height of this region.
+     */
+    public int getHeight() {
+        return isEmpty() ? 0 : maxY - minY;
+    }
+
+    /**
+     * @return the count of pixels in this region.
+     */
+    public long getArea() {
+        return (long) getWidth() * getHeight();
+    }
+
+    @Override
+    public String toString() {
+        return "DirtyRegion{" +
+                "minX=" + minX +
+                ", minY=" + minY +
+                ", maxX=" + maxX +
+                ", maxY=" + maxY +
+                '}';
+    }
+}
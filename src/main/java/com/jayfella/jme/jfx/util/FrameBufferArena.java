@@ -0,0 +1,604 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.util.BufferUtils;
+
+/**
+ * The shared arena of frame buffers.
+ * <p>
+ * Direct buffers are allocated by size classes with up to 1/8 of extra capacity and are pooled after
+ * releasing, so frame buffers of close sizes are reused across resizes and transfers. The pooled buffers are kept
+ * in the pool limit, the buffers which were released first are destroyed first. Heap arrays are pooled by their
+ * exact lengths. Every buffer belongs to an owner which accounts its live and peak bytes,
+ * the buffers which weren't released when the owner is closed are reported as leaks.
+ * <p>
+ * The limit of native memory of the arena can be set by the system property {@value #PROP_LIMIT} in
+ * bytes, the pool limit by the system property {@value #PROP_POOL_LIMIT} in bytes, the stack traces of allocations are kept for leak reports if the system property
+ * {@value #PROP_TRACE} is true.
+ */
+public final class FrameBufferArena {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FrameBufferArena.class);
+
+    /**
+     * The system property of the limit of native memory in bytes, 0 is unlimited.
+     */
+    public static final String PROP_LIMIT = "jmejfx.arena.limit";
+
+    /**
+     * The system property of the limit of pooled native memory in bytes.
+     */
+    public static final String PROP_POOL_LIMIT = "jmejfx.arena.poolLimit";
+
+    /**
+     * The system property to keep stack traces of allocations.
+     */
+    public static final String PROP_TRACE = "jmejfx.arena.trace";
+
+    /**
+     * The smallest size class.
+     */
+    private static final int MIN_SIZE_CLASS = 4096;
+
+    /**
+     * The max count of pooled buffers per size class or array length.
+     */
+    private static final int MAX_POOLED = 3;
+
+    /**
+     * The default limit of pooled native memory in bytes.
+     */
+    public static final long DEFAULT_POOL_LIMIT = 64L << 20;
+
+    private static final FrameBufferArena DEFAULT = new FrameBufferArena(Long.getLong(PROP_LIMIT, 0L),
+            Long.getLong(PROP_POOL_LIMIT, DEFAULT_POOL_LIMIT), Boolean.getBoolean(PROP_TRACE));
+
+    /**
+     * Gets the arena which is shared by all containers and transfers.
+     *
+     * @return the shared arena.
+     */
+    public static FrameBufferArena getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the size class of the size: the size is rounded up to a multiple of 1/8 of its highest one bit.
+     *
+     * @param size the size in bytes.
+     * @return the capacity of the size class.
+     */
+    public static int getSizeClass(final int size) {
+
+        if (size <= MIN_SIZE_CLASS) {
+            return MIN_SIZE_CLASS;
+        }
+
+        final int step = Integer.highestOneBit(size) >>> 3;
+        return (size + step - 1) & -step;
+    }
+
+    /**
+     * The allocated buffer or array.
+     */
+    private static final class Allocation {
+
+        private final Owner owner;
+
+        private final ByteBuffer storage;
+
+        private final int bytes;
+
+        private final Throwable trace;
+
+        private Allocation(final Owner owner, final ByteBuffer storage, final int bytes, final boolean trace) {
+            this.owner = owner;
+            this.storage = storage;
+            this.bytes = bytes;
+            this.trace = trace ? new Throwable("Allocated by " + owner.getName()) : null;
+        }
+    }
+
+    /**
+     * The owner of frame buffers, the owner is used by a single container or transfer.
+     */
+    public final class Owner {
+
+        private final String name;
+
+        /**
+         * The allocations of the owner by returned buffers and arrays.
+         */
+        private final Map<Object, Allocation> allocations;
+
+        private long liveBytes;
+
+        private long peakBytes;
+
+        private boolean closed;
+
+        private Owner(final String name) {
+            this.name = name;
+            this.allocations = new IdentityHashMap<>();
+        }
+
+        /**
+         * Allocates the direct buffer in native byte order.
+         *
+         * @param size the size in bytes.
+         * @return the buffer with the capacity and the limit of the size, it isn't cleared if it was pooled.
+         * @throws OutOfMemoryError if the limit of the arena is exceeded.
+         */
+        public ByteBuffer allocate(final int size) {
+            return allocateBuffer(this, size);
+        }
+
+        /**
+         * Allocates the heap array.
+         *
+         * @param length the length of the array.
+         * @return the cleared array.
+         */
+        public byte[] allocateArray(final int length) {
+            return allocateHeapArray(this, length);
+        }
+
+        /**
+         * Releases the buffer to the pool, the buffer must not be used anymore.
+         *
+         * @param buffer the buffer which was allocated by this owner or null.
+         */
+        public void release(final ByteBuffer buffer) {
+            if (buffer != null) {
+                releaseAllocation(this, buffer);
+            }
+        }
+
+        /**
+         * Releases the array to the pool, the array must not be used anymore.
+         *
+         * @param array the array which was allocated by this owner or null.
+         */
+        public void release(final byte[] array) {
+            if (array != null) {
+                releaseAllocation(this, array);
+            }
+        }
+
+        /**
+         * Closes this owner and reports buffers which weren't released.
+         */
+        public void close() {
+            closeOwner(this);
+        }
+
+        /**
+         * @return the name of the owner.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the bytes of not released buffers and arrays.
+         */
+        public long getLiveBytes() {
+            synchronized (FrameBufferArena.this) {
+                return liveBytes;
+            }
+        }
+
+        /**
+         * @return the max bytes of not released buffers and arrays.
+         */
+        public long getPeakBytes() {
+            synchronized (FrameBufferArena.this) {
+                return peakBytes;
+            }
+        }
+
+        @Override
+        public String toString() {
+            synchronized (FrameBufferArena.this) {
+                return name + "{live=" + liveBytes + ", peak=" + peakBytes + ", buffers=" + allocations.size() + '}';
+            }
+        }
+    }
+
+    /**
+     * The pooled direct buffers by size classes.
+     */
+    private final Map<Integer, ArrayDeque<ByteBuffer>> pooledBuffers;
+
+    /**
+     * The size classes of pooled buffers in the order of releasing, every size class is pooled from its newest
+     * buffer, so the first occurrence of a size class is its oldest pooled buffer.
+     */
+    private final ArrayDeque<Integer> pooledOrder;
+
+    /**
+     * The pooled arrays by lengths.
+     */
+    private final Map<Integer, ArrayDeque<byte[]>> pooledArrays;
+
+    /**
+     * The not closed owners.
+     */
+    private final List<Owner> owners;
+
+    /**
+     * The flag to keep stack traces of allocations.
+     */
+    private final boolean trace;
+
+    /**
+     * The limit of native memory in bytes, 0 is unlimited.
+     */
+    private long limit;
+
+    /**
+     * The limit of pooled native memory in bytes.
+     */
+    private long poolLimit;
+
+    /**
+     * The native bytes of live buffers.
+     */
+    private long liveBytes;
+
+    /**
+     * The max native bytes of live buffers.
+     */
+    private long peakBytes;
+
+    /**
+     * The native bytes of pooled buffers.
+     */
+    private long pooledBytes;
+
+    /**
+     * The bytes of buffers and arrays which weren't released by closed owners.
+     */
+    private long leakedBytes;
+
+    /**
+     * Creates the arena with the default pool limit.
+     *
+     * @param limit the limit of native memory in bytes, 0 is unlimited.
+     * @param trace true to keep stack traces of allocations.
+     */
+    public FrameBufferArena(final long limit, final boolean trace) {
+        this(limit, DEFAULT_POOL_LIMIT, trace);
+    }
+
+    /**
+     * Creates the arena.
+     *
+     * @param limit     the limit of native memory in bytes, 0 is unlimited.
+     * @param poolLimit the limit of pooled native memory in bytes, 0 disables pooling of buffers.
+     * @param trace     true to keep stack traces of allocations.
+     */
+    public FrameBufferArena(final long limit, final long poolLimit, final boolean trace) {
+        this.pooledBuffers = new HashMap<>();
+        this.pooledOrder = new ArrayDeque<>();
+        this.pooledArrays = new HashMap<>();
+        this.owners = new ArrayList<>();
+        this.limit = Math.max(0, limit);
+        this.poolLimit = Math.max(0, poolLimit);
+        this.trace = trace;
+    }
+
+    /**
+     * Creates the new owner of buffers.
+     *
+     * @param name the name of the owner for reports.
+     * @return the new owner.
+     */
+    public synchronized Owner createOwner(final String name) {
+        final Owner owner = new Owner(name);
+        owners.add(owner);
+        return owner;
+    }
+
+    private synchronized ByteBuffer allocateBuffer(final Owner owner, final int size) {
+
+        checkOpened(owner);
+
+        final int sizeClass = getSizeClass(size);
+        final ArrayDeque<ByteBuffer> pool = pooledBuffers.get(sizeClass);
+
+        ByteBuffer storage = pool == null ? null : pool.poll();
+
+        if (storage != null) {
+            pooledBytes -= sizeClass;
+            pooledOrder.removeLastOccurrence(sizeClass);
+        } else {
+            reserve(owner, sizeClass);
+            storage = BufferUtils.createByteBuffer(sizeClass);
+        }
+
+        final ByteBuffer buffer = storage.duplicate();
+        buffer.clear().limit(size);
+
+        final ByteBuffer slice = buffer.slice().order(ByteOrder.nativeOrder());
+
+        liveBytes += sizeClass;
+        peakBytes = Math.max(peakBytes, liveBytes);
+
+        register(owner, slice, new Allocation(owner, storage, sizeClass, trace));
+        return slice;
+    }
+
+    /**
+     * Frees pooled buffers to allocate the size class in the limit.
+     */
+    private void reserve(final Owner owner, final int sizeClass) {
+
+        final long limit = this.limit;
+
+        if (limit <= 0 || liveBytes + pooledBytes + sizeClass <= limit) {
+            return;
+        }
+
+        trim();
+
+        if (liveBytes + sizeClass > limit) {
+            throw new OutOfMemoryError("The frame buffer arena can't allocate " + sizeClass + " bytes for "
+                    + owner.getName() + " in the limit of " + limit + " bytes: " + this);
+        }
+    }
+
+    private synchronized byte[] allocateHeapArray(final Owner owner, final int length) {
+
+        checkOpened(owner);
+
+        final ArrayDeque<byte[]> pool = pooledArrays.get(length);
+
+        byte[] array = pool == null ? null : pool.poll();
+
+        if (array == null) {
+            array = new byte[length];
+        } else {
+            Arrays.fill(array, (byte) 0);
+        }
+
+        register(owner, array, new Allocation(owner, null, length, trace));
+        return array;
+    }
+
+    private void register(final Owner owner, final Object buffer, final Allocation allocation) {
+        owner.allocations.put(buffer, allocation);
+        owner.liveBytes += allocation.bytes;
+        owner.peakBytes = Math.max(owner.peakBytes, owner.liveBytes);
+    }
+
+    private synchronized void releaseAllocation(final Owner owner, final Object buffer) {
+
+        if (owner.closed) {
+            // the buffer was already reported as not released
+            return;
+        }
+
+        final Allocation allocation = owner.allocations.remove(buffer);
+
+        if (allocation == null) {
+            throw new IllegalArgumentException("The buffer wasn't allocated by " + owner.getName());
+        }
+
+        owner.liveBytes -= allocation.bytes;
+
+        if (allocation.storage == null) {
+
+            final ArrayDeque<byte[]> pool = pooledArrays.computeIfAbsent(allocation.bytes, key -> new ArrayDeque<>());
+
+            if (pool.size() < MAX_POOLED) {
+                pool.push((byte[]) buffer);
+            }
+
+            return;
+        }
+
+        liveBytes -= allocation.bytes;
+
+        final ArrayDeque<ByteBuffer> pool = pooledBuffers.computeIfAbsent(allocation.bytes,
+                key -> new ArrayDeque<>());
+
+        if (pool.size() < MAX_POOLED) {
+            pool.push(allocation.storage);
+            pooledOrder.offerLast(allocation.bytes);
+            pooledBytes += allocation.bytes;
+            trimPool(poolLimit);
+        } else {
+            BufferUtils.destroyDirectBuffer(allocation.storage);
+        }
+    }
+
+    /**
+     * Destroys the oldest pooled buffers until the pooled bytes are in the limit.
+     *
+     * @param limit the limit of pooled bytes.
+     */
+    private void trimPool(final long limit) {
+        while (pooledBytes > limit && !pooledOrder.isEmpty()) {
+            final int sizeClass = pooledOrder.pollFirst();
+            BufferUtils.destroyDirectBuffer(pooledBuffers.get(sizeClass).pollLast());
+            pooledBytes -= sizeClass;
+        }
+    }
+
+    private synchronized void closeOwner(final Owner owner) {
+
+        if (owner.closed) {
+            return;
+        }
+
+        owner.closed = true;
+        owners.remove(owner);
+
+        if (owner.allocations.isEmpty()) {
+            return;
+        }
+
+        LOGGER.warn("The owner {} of frame buffers was closed with {} not released buffers of {} bytes.",
+                owner.getName(), owner.allocations.size(), owner.liveBytes);
+
+        for (final Allocation allocation : owner.allocations.values()) {
+
+            if (allocation.trace != null) {
+                LOGGER.warn("Not released buffer of " + allocation.bytes + " bytes.", allocation.trace);
+            }
+
+            // leaked buffers are left to the garbage collector, they can be still in use
+            if (allocation.storage != null) {
+                liveBytes -= allocation.bytes;
+            }
+
+            leakedBytes += allocation.bytes;
+        }
+
+        owner.allocations.clear();
+        owner.liveBytes = 0;
+    }
+
+    private void checkOpened(final Owner owner) {
+        if (owner.closed) {
+            throw new IllegalStateException("The owner " + owner.getName() + " of frame buffers is closed.");
+        }
+    }
+
+    /**
+     * Destroys all pooled buffers and drops all pooled arrays.
+     */
+    public synchronized void trim() {
+
+        for (final ArrayDeque<ByteBuffer> pool : pooledBuffers.values()) {
+            for (final ByteBuffer storage : pool) {
+                BufferUtils.destroyDirectBuffer(storage);
+            }
+        }
+
+        pooledBuffers.clear();
+        pooledOrder.clear();
+        pooledArrays.clear();
+        pooledBytes = 0;
+    }
+
+    /**
+     * Sets the limit of native memory, the limit is checked by new allocations.
+     *
+     * @param limit the limit in bytes, 0 is unlimited.
+     */
+    public synchronized void setLimit(final long limit) {
+        this.limit = Math.max(0, limit);
+    }
+
+    /**
+     * @return the limit of native memory in bytes, 0 is unlimited.
+     */
+    public synchronized long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the limit of pooled native memory, the oldest pooled buffers over the limit are destroyed.
+     *
+     * @param poolLimit the limit in bytes, 0 disables pooling of buffers.
+     */
+    public synchronized void setPoolLimit(final long poolLimit) {
+        this.poolLimit = Math.max(0, poolLimit);
+        trimPool(this.poolLimit);
+    }
+
+    /**
+     * @return the limit of pooled native memory in bytes.
+     */
+    public synchronized long getPoolLimit() {
+        return poolLimit;
+    }
+
+    /**
+     * @return the native bytes of live buffers.
+     */
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * @return the max native bytes of live buffers.
+     */
+    public synchronized long getPeakBytes() {
+        return peakBytes;
+    }
+
+    /**
+     * @return the native bytes of pooled buffers.
+     */
+    public synchronized long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    /**
+     * @return the bytes of buffers and arrays which weren't released by closed owners.
+     */
+    public synchronized long getLeakedBytes() {
+        return leakedBytes;
+    }
+
+    /**
+     * @return the not closed owners.
+     */
+    public synchronized List<Owner> getOwners() {
+        return new ArrayList<>(owners);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "FrameBufferArena{" +
+                "live=" + liveBytes +
+                ", peak=" + peakBytes +
+                ", pooled=" + pooledBytes +
+                ", leaked=" + leakedBytes +
+                ", limit=" + limit +
+                ", poolLimit=" + poolLimit +
+                ", owners=" + owners +
+                '}';
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The grid of fixed tiles over a frame to find changed parts of the frame without keeping a copy of the
+ * previous frame.
+ * <p>
+ * Every tile keeps a 64-bit hash of its pixels, an update hashes the new frame tile by tile and marks the
+ * tiles whose hashes differ from the hashes of the previous frame as dirty. A collision of two hashes
+ * leaves a changed tile clean until its next change, with 64-bit hashes it's not expected in practice.
+ * The grid isn't thread safe.
+ */
+public final class FrameTiles {
+
+    /**
+     * The size of a tile side in pixels.
+     */
+    public static final int TILE_SIZE = 64;
+
+    /**
+     * The multiplier of the hash.
+     */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The width of the frame.
+     */
+    private final int width;
+
+    /**
+     * The height of the frame.
+     */
+    private final int height;
+
+    /**
+     * The count of tiles per row.
+     */
+    private final int tilesX;
+
+    /**
+     * The count of tiles per column.
+     */
+    private final int tilesY;
+
+    /**
+     * The hashes of tiles of the previous frame.
+     */
+    private final long[] hashes;
+
+    /**
+     * The dirty flags of tiles after the last update.
+     */
+    private final boolean[] dirty;
+
+    /**
+     * The count of dirty tiles after the last update.
+     */
+    private int dirtyCount;
+
+    /**
+     * True if the hashes don't describe any frame yet.
+     */
+    private boolean invalid;
+
+    /**
+     * Creates the grid for frames of the size, the first update marks all tiles as dirty.
+     *
+     * @param width  the width of the frame.
+     * @param height the height of the frame.
+     */
+    public FrameTiles(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+        this.tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+        this.hashes = new long[tilesX * tilesY];
+        this.dirty = new boolean[tilesX * tilesY];
+        this.invalid = true;
+    }
+
+    /**
+     * Hashes the tiles of the frame and marks the tiles which differ from the previous frame as dirty.
+     *
+     * @param frame the frame with 4 bytes per pixel from the position 0, row by row.
+     * @return the count of dirty tiles.
+     */
+    public int update(final ByteBuffer frame) {
+
+        if (frame.capacity() < width * height * 4) {
+            throw new IllegalArgumentException("The frame is less than " + width + "x" + height);
+        }
+
+        final boolean force = invalid;
+
+        dirtyCount = 0;
+        invalid = false;
+
+        for (int tileY = 0, tile = 0; tileY < tilesY; tileY++) {
+
+            final int minY = tileY * TILE_SIZE;
+            final int maxY = Math.min(minY + TILE_SIZE, height);
+
+            for (int tileX = 0; tileX < tilesX; tileX++, tile++) {
+
+                final int minX = tileX * TILE_SIZE;
+                final int maxX = Math.min(minX + TILE_SIZE, width);
+                final long hash = hash(frame, minX, minY, maxX, maxY);
+                final boolean changed = force || hashes[tile] != hash;
+
+                hashes[tile] = hash;
+                dirty[tile] = changed;
+
+                if (changed) {
+                    dirtyCount++;
+                }
+            }
+        }
+
+        return dirtyCount;
+    }
+
+    /**
+     * Forgets the hashes, the next update marks all tiles as dirty.
+     */
+    public void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Marks all tiles as dirty until the next update.
+     */
+    public void markAll() {
+        Arrays.fill(dirty, true);
+        dirtyCount = dirty.length;
+    }
+
+    /**
+     * Hashes the pixels of the area of the frame.
+     *
+     * @param frame the frame.
+     * @param minX  the min x of the area.
+     * @param minY  the min y of the area.
+     * @param maxX  the max x of the area, exclusive.
+     * @param maxY  the max y of the area, exclusive.
+     * @return the hash.
+     */
+    private long hash(
+            final ByteBuffer frame,
+            final int minX,
+            final int minY,
+            final int maxX,
+            final int maxY
+    ) {
+
+        final int rowLength = (maxX - minX) * 4;
+        final int longLength = rowLength & ~7;
+
+        long hash = HASH_MULTIPLIER;
+
+        for (int y = minY; y < maxY; y++) {
+
+            final int rowOffset = (y * width + minX) * 4;
+
+            for (int i = 0; i < longLength; i += 8) {
+                hash = (Long.rotateLeft(hash, 23) ^ frame.getLong(rowOffset + i)) * HASH_MULTIPLIER;
+            }
+
+            if (longLength != rowLength) {
+                hash = (Long.rotateLeft(hash, 23) ^ frame.getInt(rowOffset + longLength)) * HASH_MULTIPLIER;
+            }
+        }
+
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Checks the tile after the last update.
+     *
+     * @param tile the index of the tile, row by row.
+     * @return true if the tile is dirty.
+     */
+    public boolean isDirty(final int tile) {
+        return dirty[tile];
+    }
+
+    /**
+     * Gets the count of dirty tiles after the last update.
+     *
+     * @return the count of dirty tiles.
+     */
+    public int getDirtyCount() {
+        return dirtyCount;
+    }
+
+    /**
+     * Gets the count of all tiles.
+     *
+     * @return the count of all tiles.
+     */
+    public int getTileCount() {
+        return dirty.length;
+    }
+
+    /**
+     * Gets the count of tiles per row.
+     *
+     * @return the count of tiles per row.
+     */
+    public int getTilesX() {
+        return tilesX;
+    }
+
+    /**
+     * Gets the count of tiles per column.
+     *
+     * @return the count of tiles per column.
+     */
+    public int getTilesY() {
+        return tilesY;
+    }
+
+    /**
+     * Gets the width of the frame.
+     *
+     * @return the width of the frame.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the frame.
+     *
+     * @return the height of the frame.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
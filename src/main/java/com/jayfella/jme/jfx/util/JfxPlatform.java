@@ -26,6 +26,9 @@
  */
 package com.jayfella.jme.jfx.util;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
 import javafx.application.Platform;
 
 /**
@@ -35,6 +38,121 @@ import javafx.application.Platform;
  */
 public class JfxPlatform {
 
+    /**
+     * The task which is posted to JavaFX thread at most once at a time, all schedules before its run are
+     * covered by one run.
+     */
+    public static final class CoalescedTask {
+
+        /**
+         * The task.
+         */
+        private final Runnable task;
+
+        /**
+         * The executor of posting the task to JavaFX thread.
+         */
+        private final Executor executor;
+
+        /**
+         * The count of schedules which weren't covered by a run yet.
+         */
+        private final AtomicLong pendingCount;
+
+        /**
+         * The count of schedules which were covered by the last run.
+         */
+        private volatile long lastCoveredCount;
+
+        /**
+         * The count of schedules which were covered by all runs.
+         */
+        private volatile long coveredCount;
+
+        /**
+         * The count of runs.
+         */
+        private volatile long runCount;
+
+        private CoalescedTask(final Runnable task, final Executor executor) {
+            this.task = task;
+            this.executor = executor;
+            this.pendingCount = new AtomicLong();
+        }
+
+        /**
+         * Schedules the task to JavaFX thread if it isn't scheduled yet. If posting the task fails, for example
+         * when the JavaFX toolkit isn't started, the task isn't pending, so the next schedule posts it again.
+         *
+         * @return true if the task was posted by this call.
+         */
+        public boolean schedule() {
+
+            if (pendingCount.getAndIncrement() != 0) {
+                return false;
+            }
+
+            try {
+                executor.execute(this::run);
+            } catch (RuntimeException e) {
+                pendingCount.set(0);
+                throw e;
+            }
+
+            return true;
+        }
+
+        /**
+         * Runs the task in JavaFX thread.
+         */
+        private void run() {
+
+            final long covered = pendingCount.getAndSet(0);
+
+            lastCoveredCount = covered;
+            coveredCount += covered;
+            runCount++;
+
+            task.run();
+        }
+
+        /**
+         * Checks whether the task is posted and didn't run yet.
+         *
+         * @return true if the task is pending.
+         */
+        public boolean isPending() {
+            return pendingCount.get() != 0;
+        }
+
+        /**
+         * Gets the count of schedules which were covered by the last run, it's useful inside the task.
+         *
+         * @return the count of covered schedules.
+         */
+        public long getLastCoveredCount() {
+            return lastCoveredCount;
+        }
+
+        /**
+         * Gets the count of schedules which were covered by all runs.
+         *
+         * @return the count of covered schedules.
+         */
+        public long getCoveredCount() {
+            return coveredCount;
+        }
+
+        /**
+         * Gets the count of runs.
+         *
+         * @return the count of runs.
+         */
+        public long getRunCount() {
+            return runCount;
+        }
+    }
+
     /**
      * Execute the task in JavaFX thread.
      *
@@ -47,4 +165,26 @@ public class JfxPlatform {
             Platform.runLater(task);
         }
     }
+
+    /**
+     * Creates the coalesced task to execute in JavaFX thread, a schedule of the task doesn't post it again
+     * while it's pending, so a fast producer can't flood JavaFX thread.
+     *
+     * @param task the task.
+     * @return the coalesced task.
+     */
+    public static CoalescedTask coalesce(Runnable task) {
+        return coalesce(task, JfxPlatform::runInFxThread);
+    }
+
+    /**
+     * Creates the coalesced task which is posted by the executor instead of JavaFX Platform.
+     *
+     * @param task     the task.
+     * @param executor the executor of posting the task.
+     * @return the coalesced task.
+     */
+    public static CoalescedTask coalesce(Runnable task, Executor executor) {
+        return new CoalescedTask(task, executor);
+    }
 }
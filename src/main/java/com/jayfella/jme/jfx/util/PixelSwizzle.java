@@ -0,0 +1,308 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The kernels to reorder bytes of 32-bit pixels in place.
+ * <p>
+ * The word kernels move pixels in chunks to a local int array and reorder whole pixels with
+ * shifts and rotations, the loops over the array can be vectorized by JIT. The byte kernels
+ * swap single bytes and are kept as the reference and the fallback. The kernels are selected
+ * once by the system property {@value #PROP_KERNEL}.
+ */
+public final class PixelSwizzle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PixelSwizzle.class);
+
+    /**
+     * The system property to select the kernels: {@code word} (default) or {@code byte}.
+     */
+    public static final String PROP_KERNEL = "jmejfx.swizzle.kernel";
+
+    /**
+     * The count of pixels in one chunk of the word kernels.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final ThreadLocal<int[]> LOCAL_CHUNK = ThreadLocal.withInitial(() -> new int[CHUNK_SIZE]);
+
+    /**
+     * The available kernels.
+     */
+    public enum Kernel {
+
+        /**
+         * Reorders whole pixels as 32-bit words.
+         */
+        WORD,
+
+        /**
+         * Reorders single bytes.
+         */
+        BYTE
+    }
+
+    private static final Kernel KERNEL = selectKernel();
+
+    private static Kernel selectKernel() {
+
+        final String value = System.getProperty(PROP_KERNEL, Kernel.WORD.name());
+
+        Kernel kernel;
+        try {
+            kernel = Kernel.valueOf(value.trim().toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            LOGGER.warn("Unknown swizzle kernel {}, the byte kernel is used.", value);
+            kernel = Kernel.BYTE;
+        }
+
+        LOGGER.debug("Selected the {} swizzle kernel.", kernel);
+        return kernel;
+    }
+
+    /**
+     * Gets the kernel which was selected at startup.
+     *
+     * @return the selected kernel.
+     */
+    public static Kernel getKernel() {
+        return KERNEL;
+    }
+
+    /**
+     * Reorders pixels from ARGB8 to ABGR8, the data is processed from the start to the limit.
+     *
+     * @param data the pixels.
+     */
+    public static void reorderARGB8ToABGR8(final ByteBuffer data) {
+        if (KERNEL == Kernel.WORD) {
+            reorderARGB8ToABGR8Words(data);
+        } else {
+            reorderARGB8ToABGR8Bytes(data);
+        }
+    }
+
+    /**
+     * Reorders pixels from BGRA8 to ABGR8, the data is processed from the start to the limit.
+     *
+     * @param data the pixels.
+     */
+    public static void reorderBGRA8ToABGR8(final ByteBuffer data) {
+        if (KERNEL == Kernel.WORD) {
+            reorderBGRA8ToABGR8Words(data);
+        } else {
+            reorderBGRA8ToABGR8Bytes(data);
+        }
+    }
+
+    /**
+     * Reorders pixels from RGBA8 to BGRA8, the data is processed from the start to the limit.
+     *
+     * @param data the pixels.
+     */
+    public static void reorderRGBA8ToBGRA8(final ByteBuffer data) {
+        reorderRGBA8ToBGRA8(data, 0, data.limit());
+    }
+
+    /**
+     * Reorders pixels from RGBA8 to BGRA8 in the range of the data.
+     *
+     * @param data   the pixels.
+     * @param offset the offset of the first pixel in bytes.
+     * @param length the length of the range in bytes.
+     */
+    public static void reorderRGBA8ToBGRA8(final ByteBuffer data, final int offset, final int length) {
+        if (KERNEL == Kernel.WORD) {
+            reorderRGBA8ToBGRA8Words(data, offset, length);
+        } else {
+            reorderRGBA8ToBGRA8Bytes(data, offset, length);
+        }
+    }
+
+    /**
+     * Reorders pixels from ARGB8 to ABGR8 using the word kernel.
+     *
+     * @param data the pixels.
+     */
+    public static void reorderARGB8ToABGR8Words(final ByteBuffer data) {
+
+        final IntBuffer pixels = wordView(data);
+        final int[] chunk = LOCAL_CHUNK.get();
+
+        for (int offset = 0, count = pixels.limit(); offset < count; offset += CHUNK_SIZE) {
+
+            final int length = Math.min(CHUNK_SIZE, count - offset);
+
+            pixels.position(offset);
+            pixels.get(chunk, 0, length);
+
+            for (int i = 0; i < length; i++) {
+                final int pixel = chunk[i];
+                chunk[i] = (pixel & 0xFF00FF00) | ((pixel >>> 16) & 0xFF) | ((pixel & 0xFF) << 16);
+            }
+
+            pixels.position(offset);
+            pixels.put(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Reorders pixels from BGRA8 to ABGR8 using the word kernel.
+     *
+     * @param data the pixels.
+     */
+    public static void reorderBGRA8ToABGR8Words(final ByteBuffer data) {
+
+        final IntBuffer pixels = wordView(data);
+        final int[] chunk = LOCAL_CHUNK.get();
+
+        for (int offset = 0, count = pixels.limit(); offset < count; offset += CHUNK_SIZE) {
+
+            final int length = Math.min(CHUNK_SIZE, count - offset);
+
+            pixels.position(offset);
+            pixels.get(chunk, 0, length);
+
+            for (int i = 0; i < length; i++) {
+                chunk[i] = Integer.rotateRight(chunk[i], 8);
+            }
+
+            pixels.position(offset);
+            pixels.put(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Reorders pixels from RGBA8 to BGRA8 in the range of the data using the word kernel.
+     *
+     * @param data   the pixels.
+     * @param offset the offset of the first pixel in bytes.
+     * @param length the length of the range in bytes.
+     */
+    public static void reorderRGBA8ToBGRA8Words(final ByteBuffer data, final int offset, final int length) {
+
+        final IntBuffer pixels = wordView(data);
+        final int[] chunk = LOCAL_CHUNK.get();
+
+        for (int start = offset >> 2, end = (offset + length) >> 2; start < end; start += CHUNK_SIZE) {
+
+            final int count = Math.min(CHUNK_SIZE, end - start);
+
+            pixels.position(start);
+            pixels.get(chunk, 0, count);
+
+            for (int i = 0; i < count; i++) {
+                final int pixel = chunk[i];
+                chunk[i] = (pixel & 0x00FF00FF) | ((pixel >>> 16) & 0xFF00) | ((pixel & 0xFF00) << 16);
+            }
+
+            pixels.position(start);
+            pixels.put(chunk, 0, count);
+        }
+    }
+
+    /**
+     * Reorders pixels from ARGB8 to ABGR8 using the byte kernel.
+     *
+     * @param data the pixels.
+     */
+    public static void reorderARGB8ToABGR8Bytes(final ByteBuffer data) {
+
+        final int limit = data.limit() - 3;
+
+        byte v;
+
+        for (int i = 0; i < limit; i += 4) {
+            v = data.get(i + 1);
+            data.put(i + 1, data.get(i + 3));
+            data.put(i + 3, v);
+        }
+    }
+
+    /**
+     * Reorders pixels from BGRA8 to ABGR8 using the byte kernel.
+     *
+     * @param data the pixels.
+     */
+    public static void reorderBGRA8ToABGR8Bytes(final ByteBuffer data) {
+
+        final int limit = data.limit() - 3;
+
+        byte v0, v1, v2, v3;
+
+        for (int i = 0; i < limit; i += 4) {
+            v0 = data.get(i);
+            v1 = data.get(i + 1);
+            v2 = data.get(i + 2);
+            v3 = data.get(i + 3);
+            data.put(i, v3);
+            data.put(i + 1, v0);
+            data.put(i + 2, v1);
+            data.put(i + 3, v2);
+        }
+    }
+
+    /**
+     * Reorders pixels from RGBA8 to BGRA8 in the range of the data using the byte kernel.
+     *
+     * @param data   the pixels.
+     * @param offset the offset of the first pixel in bytes.
+     * @param length the length of the range in bytes.
+     */
+    public static void reorderRGBA8ToBGRA8Bytes(final ByteBuffer data, final int offset, final int length) {
+
+        final int limit = offset + length - 3;
+
+        byte v;
+
+        for (int i = offset; i < limit; i += 4) {
+            v = data.get(i);
+            data.put(i, data.get(i + 2));
+            data.put(i + 2, v);
+        }
+    }
+
+    /**
+     * Creates the big-endian int view of whole pixels from the start to the limit of the data, so the first byte
+     * of a pixel is the highest byte of a word.
+     */
+    private static IntBuffer wordView(final ByteBuffer data) {
+        final ByteBuffer bytes = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+        bytes.position(0);
+        return bytes.asIntBuffer();
+    }
+
+    private PixelSwizzle() {
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The lock-free exchange of three slots between a single producer and a single consumer.
+ * <p>
+ * The producer always owns the back slot and the consumer always owns the front slot. A finished
+ * slot is published by atomically swapping it with the pending slot, the consumer takes the latest
+ * published slot by swapping its front slot with the pending slot. Nobody waits for anybody, the
+ * producer overwrites a pending slot which wasn't taken yet.
+ */
+public final class TripleBuffer {
+
+    /**
+     * The count of slots.
+     */
+    public static final int SLOTS = 3;
+
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH_BIT = 0b100;
+
+    /**
+     * The index of the pending slot and the flag of having a not taken frame.
+     */
+    private final AtomicInteger pending;
+
+    /**
+     * The sequence numbers of frames in the slots.
+     */
+    private final long[] sequences;
+
+    /**
+     * The index of the back slot, it's accessed only by the producer.
+     */
+    private int back;
+
+    /**
+     * The index of the front slot, it's accessed only by the consumer.
+     */
+    private int front;
+
+    /**
+     * The sequence number of the latest published frame.
+     */
+    private volatile long publishedSequence;
+
+    /**
+     * The sequence number of the latest taken frame.
+     */
+    private volatile long acquiredSequence;
+
+    /**
+     * The count of published frames which were overwritten before taking.
+     */
+    private volatile long droppedCount;
+
+    public TripleBuffer() {
+        this.back = 0;
+        this.pending = new AtomicInteger(1);
+        this.front = 2;
+        this.sequences = new long[SLOTS];
+    }
+
+    /**
+     * Gets the index of the slot to produce a new frame, it's called only by the producer.
+     *
+     * @return the index of the back slot.
+     */
+    public int getBackIndex() {
+        return back;
+    }
+
+    /**
+     * Publishes the back slot as the latest frame and takes a new back slot, it's called only by the producer.
+     *
+     * @return true if the previous published frame wasn't taken and was dropped.
+     */
+    public boolean publish() {
+
+        final long sequence = publishedSequence + 1;
+        sequences[back] = sequence;
+
+        final int previous = pending.getAndSet(back | FRESH_BIT);
+
+        back = previous & INDEX_MASK;
+        publishedSequence = sequence;
+
+        final boolean dropped = (previous & FRESH_BIT) != 0;
+
+        if (dropped) {
+            droppedCount++;
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Checks of existing a published frame which wasn't taken yet.
+     *
+     * @return true if there is a new frame.
+     */
+    public boolean hasNewFrame() {
+        return (pending.get() & FRESH_BIT) != 0;
+    }
+
+    /**
+     * Takes the latest published frame to the front slot, it's called only by the consumer.
+     *
+     * @return true if a new frame was taken.
+     */
+    public boolean acquire() {
+
+        if (!hasNewFrame()) {
+            return false;
+        }
+
+        final int previous = pending.getAndSet(front);
+
+        front = previous & INDEX_MASK;
+        acquiredSequence = sequences[front];
+
+        return true;
+    }
+
+    /**
+     * Gets the index of the slot with the latest taken frame, it's called only by the consumer.
+     *
+     * @return the index of the front slot.
+     */
+    public int getFrontIndex() {
+        return front;
+    }
+
+    /**
+     * @return the sequence number of the latest published frame.
+     */
+    public long getPublishedSequence() {
+        return publishedSequence;
+    }
+
+    /**
+     * @return the sequence number of the latest taken frame.
+     */
+    public long getAcquiredSequence() {
+        return acquiredSequence;
+    }
+
+    /**
+     * @return the count of published frames which were overwritten before taking.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TripleBuffer{" +
+                "publishedSequence=" + publishedSequence +
+                ", acquiredSequence=" + acquiredSequence +
+                ", droppedCount=" + droppedCount +
+                '}';
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.jayfella.jme.jfx.injfx.input.InputEventRing.OverflowPolicy;
+
+/**
+ * Tests adding and polling events of the input event ring with both overflow policies and reliable events.
+ *
+ * @author JavaSaBr
+ */
+public class InputEventRingTest {
+
+    private static final int EVENTS = 500_000;
+
+    @Test
+    public void capacityIsPowerOfTwo() {
+        assertEquals(2, new InputEventRing(2, OverflowPolicy.DROP_NEWEST).getCapacity());
+        assertEquals(8, new InputEventRing(5, OverflowPolicy.DROP_NEWEST).getCapacity());
+        assertEquals(8, new InputEventRing(8, OverflowPolicy.DROP_NEWEST).getCapacity());
+        assertEquals(InputEventRing.DEFAULT_CAPACITY,
+                new InputEventRing(InputEventRing.DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new InputEventRing(1, OverflowPolicy.DROP_NEWEST));
+    }
+
+    @Test
+    public void emptyRingHasNothingToPoll() {
+
+        var ring = new InputEventRing(4, OverflowPolicy.DROP_NEWEST);
+
+        assertFalse(ring.poll());
+        assertEquals(0, ring.size());
+        assertEquals(0, ring.getAddedCount());
+        assertEquals(0, ring.getDroppedCount());
+    }
+
+    @Test
+    public void eventsArePolledInOrder() {
+
+        var ring = new InputEventRing(4, OverflowPolicy.DROP_NEWEST);
+
+        assertTrue(ring.add(1, 10, 11, 12, 13, 14, 15, 100));
+        assertTrue(ring.add(2, 20, 21, 22, 23, 24, 25, 200));
+        assertEquals(2, ring.size());
+
+        assertTrue(ring.poll());
+        assertEvent(ring, 1, 100);
+        assertEquals(1, ring.size());
+
+        assertTrue(ring.poll());
+        assertEvent(ring, 2, 200);
+
+        assertFalse(ring.poll());
+        assertEquals(0, ring.size());
+        assertEquals(2, ring.getAddedCount());
+    }
+
+    @Test
+    public void ringWrapsAround() {
+
+        var ring = new InputEventRing(4, OverflowPolicy.DROP_NEWEST);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(ring.add(i, i * 10, i * 10 + 1, i * 10 + 2, i * 10 + 3, i * 10 + 4, i * 10 + 5, i));
+            assertTrue(ring.poll());
+            assertEvent(ring, i, i);
+        }
+
+        assertEquals(10, ring.getAddedCount());
+        assertEquals(0, ring.getDroppedCount());
+    }
+
+    @Test
+    public void fullRingDropsNewestEvents() {
+
+        var ring = new InputEventRing(4, OverflowPolicy.DROP_NEWEST);
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i < 4, addEvent(ring, i));
+        }
+
+        assertEquals(4, ring.size());
+        assertEquals(4, ring.getAddedCount());
+        assertEquals(2, ring.getDroppedCount());
+
+        assertPolled(ring, 0, 1, 2, 3);
+
+        // the polled events free the ring
+        assertTrue(addEvent(ring, 6));
+        assertPolled(ring, 6);
+    }
+
+    @Test
+    public void fullRingDropsOldestEvents() {
+
+        var ring = new InputEventRing(4, OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(addEvent(ring, i));
+        }
+
+        assertEquals(4, ring.size());
+        assertEquals(6, ring.getAddedCount());
+        assertEquals(2, ring.getDroppedCount());
+
+        assertPolled(ring, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void overflowPolicyIsChangedAtRuntime() {
+
+        var ring = new InputEventRing(2, OverflowPolicy.DROP_NEWEST);
+
+        addEvent(ring, 0);
+        addEvent(ring, 1);
+        assertFalse(addEvent(ring, 2));
+
+        ring.setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+
+        assertEquals(OverflowPolicy.DROP_OLDEST, ring.getOverflowPolicy());
+        assertTrue(addEvent(ring, 3));
+        assertEquals(2, ring.getDroppedCount());
+
+        assertPolled(ring, 1, 3);
+    }
+
+    @Test
+    public void fullRingKeepsReliableEventsInOverflow() {
+
+        var ring = new InputEventRing(4, OverflowPolicy.DROP_NEWEST);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(addEvent(ring, i));
+        }
+
+        addReliableEvent(ring, 4);
+
+        // the motion after a waiting press is dropped, the release isn't
+        assertFalse(addEvent(ring, 5));
+        addReliableEvent(ring, 6);
+
+        assertEquals(6, ring.size());
+        assertEquals(6, ring.getAddedCount());
+        assertEquals(1, ring.getDroppedCount());
+        assertEquals(2, ring.getOverflowCount());
+
+        assertPolled(ring, 0, 1, 2, 3, 4, 6);
+        assertEquals(0, ring.size());
+
+        // the drained overflow queue lets new events to the ring again
+        assertTrue(addEvent(ring, 7));
+        assertPolled(ring, 7);
+        assertEquals(2, ring.getOverflowCount());
+    }
+
+    @Test
+    public void oldestReliableEventIsNotDropped() {
+
+        var ring = new InputEventRing(4, OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(addEvent(ring, 0));
+        addReliableEvent(ring, 1);
+        assertTrue(addEvent(ring, 2));
+        assertTrue(addEvent(ring, 3));
+
+        // the oldest motion is dropped, then the oldest event is a press, so the new motion is dropped
+        assertTrue(addEvent(ring, 4));
+        assertFalse(addEvent(ring, 5));
+        addReliableEvent(ring, 6);
+
+        assertEquals(2, ring.getDroppedCount());
+        assertEquals(1, ring.getOverflowCount());
+
+        assertPolled(ring, 1, 2, 3, 4, 6);
+    }
+
+    @Test
+    public void concurrentConsumerGetsAllReliableEvents() throws InterruptedException {
+
+        var ring = new InputEventRing(16, OverflowPolicy.DROP_OLDEST);
+        var error = new AtomicReference<Throwable>();
+
+        var producer = new Thread(() -> {
+            for (int i = 0; i < EVENTS; i++) {
+                if (i % 10 == 0) {
+                    addReliableEvent(ring, i);
+                } else {
+                    addEvent(ring, i);
+                }
+            }
+        });
+
+        producer.setUncaughtExceptionHandler((thread, e) -> error.set(e));
+        producer.start();
+
+        int nextReliable = 0;
+        int last = -1;
+
+        while (producer.isAlive() || ring.size() > 0) {
+
+            if (!ring.poll()) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            var type = ring.getType();
+
+            assertTrue(type > last, "event " + type + " after " + last);
+            assertTrue(type <= nextReliable, "reliable event " + nextReliable + " is lost");
+            assertEvent(ring, type, type);
+
+            if (type == nextReliable) {
+                nextReliable += 10;
+            }
+
+            last = type;
+        }
+
+        producer.join();
+
+        assertNull(error.get());
+        assertEquals(EVENTS, nextReliable);
+    }
+
+    @Test
+    public void concurrentConsumerGetsWholeEventsInOrder() throws InterruptedException {
+
+        var ring = new InputEventRing(64, OverflowPolicy.DROP_OLDEST);
+        var error = new AtomicReference<Throwable>();
+
+        var producer = new Thread(() -> {
+            for (int i = 0; i < EVENTS; i++) {
+                addEvent(ring, i);
+            }
+        });
+
+        producer.setUncaughtExceptionHandler((thread, e) -> error.set(e));
+        producer.start();
+
+        long polled = 0;
+        int last = -1;
+
+        while (producer.isAlive() || ring.size() > 0) {
+
+            if (!ring.poll()) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            var type = ring.getType();
+
+            assertTrue(type > last, "event " + type + " after " + last);
+            assertEvent(ring, type, type);
+
+            last = type;
+            polled++;
+        }
+
+        producer.join();
+
+        assertNull(error.get());
+        assertEquals(EVENTS, ring.getAddedCount());
+        assertEquals(EVENTS, polled + ring.getDroppedCount());
+    }
+
+    private static boolean addEvent(InputEventRing ring, int type) {
+        return ring.add(type, type * 10, type * 10 + 1, type * 10 + 2, type * 10 + 3, type * 10 + 4,
+                type * 10 + 5, type);
+    }
+
+    private static void addReliableEvent(InputEventRing ring, int type) {
+        ring.addReliable(type, type * 10, type * 10 + 1, type * 10 + 2, type * 10 + 3, type * 10 + 4,
+                type * 10 + 5, type);
+    }
+
+    private static void assertPolled(InputEventRing ring, int... types) {
+
+        for (int type : types) {
+            assertTrue(ring.poll());
+            assertEvent(ring, type, type);
+        }
+
+        assertFalse(ring.poll());
+    }
+
+    private static void assertEvent(InputEventRing ring, int type, long time) {
+
+        assertEquals(type, ring.getType());
+        assertEquals(time, ring.getTime());
+
+        for (int i = 0; i < InputEventRing.VALUES; i++) {
+            assertEquals(type * 10 + i, ring.getValue(i));
+        }
+    }
+}
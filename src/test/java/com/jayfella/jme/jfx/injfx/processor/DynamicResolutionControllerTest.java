@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransferStats;
+import com.jayfella.jme.jfx.injfx.transfer.FrameTransferStats.Stage;
+
+/**
+ * Tests updating the render scale by the time of transferring frames.
+ *
+ * @author JavaSaBr
+ */
+public class DynamicResolutionControllerTest {
+
+    private static final long MILLISECOND = 1_000_000L;
+
+    private DynamicResolutionController controller;
+
+    private FrameTransferStats stats;
+
+    @BeforeEach
+    public void createController() {
+        controller = new DynamicResolutionController();
+        controller.setSampleFrames(2);
+        stats = new FrameTransferStats();
+    }
+
+    @Test
+    public void firstUpdateStartsSample() {
+
+        record(stats, 2, 20);
+
+        assertEquals(1F, controller.update(stats));
+        assertEquals(0F, controller.getFrameTime());
+    }
+
+    @Test
+    public void scaleIsKeptUntilSampleIsComplete() {
+
+        controller.update(stats);
+        record(stats, 1, 20);
+
+        assertEquals(1F, controller.update(stats));
+        assertEquals(0F, controller.getFrameTime());
+    }
+
+    @Test
+    public void slowFramesLowerScale() {
+
+        controller.update(stats);
+
+        // 10 ms per frame: the read back and the write by javaFX thread
+        record(stats, 2, 5);
+
+        assertEquals(27F / 32F, controller.update(stats));
+        assertEquals(10F, controller.getFrameTime(), 0.001F);
+    }
+
+    @Test
+    public void framesInsideBudgetKeepScale() {
+
+        controller.update(stats);
+        record(stats, 2, 2);
+
+        assertEquals(1F, controller.update(stats));
+        assertEquals(4F, controller.getFrameTime(), 0.001F);
+    }
+
+    @Test
+    public void fastFramesRaiseScaleUpToOne() {
+
+        controller.update(stats);
+        record(stats, 2, 5);
+        controller.update(stats);
+
+        record(stats, 2, 0.5F);
+        assertEquals(30F / 32F, controller.update(stats));
+
+        record(stats, 2, 0.5F);
+        assertEquals(1F, controller.update(stats));
+
+        record(stats, 2, 0.5F);
+        assertEquals(1F, controller.update(stats));
+    }
+
+    @Test
+    public void scaleIsNotLowerThanMinScale() {
+
+        controller.setMinScale(0.8F);
+        controller.update(stats);
+
+        for (int i = 0; i < 5; i++) {
+            record(stats, 2, 20);
+            controller.update(stats);
+        }
+
+        assertEquals(0.8F, controller.getScale());
+    }
+
+    @Test
+    public void newStatsStartNewSample() {
+
+        controller.update(stats);
+        record(stats, 2, 20);
+
+        var otherStats = new FrameTransferStats();
+        record(otherStats, 4, 20);
+
+        assertEquals(1F, controller.update(otherStats));
+
+        // the time of the old stats isn't mixed with the new stats
+        record(otherStats, 2, 1);
+        assertEquals(1F, controller.update(otherStats));
+        assertEquals(2F, controller.getFrameTime(), 0.001F);
+    }
+
+    @Test
+    public void resetStatsStartNewSample() {
+
+        controller.update(stats);
+        record(stats, 4, 20);
+        stats.reset();
+
+        assertEquals(1F, controller.update(stats));
+
+        record(stats, 2, 1);
+        controller.update(stats);
+
+        assertEquals(2F, controller.getFrameTime(), 0.001F);
+    }
+
+    @Test
+    public void resetRestoresFullScale() {
+
+        controller.update(stats);
+        record(stats, 2, 20);
+        controller.update(stats);
+        controller.reset();
+
+        assertEquals(1F, controller.getScale());
+
+        // the next update starts a new sample
+        record(stats, 2, 20);
+        assertEquals(1F, controller.update(stats));
+    }
+
+    @Test
+    public void parametersAreClamped() {
+
+        controller.setBudget(0);
+        controller.setMinScale(2F);
+        controller.setSampleFrames(0);
+
+        assertEquals(0.1F, controller.getBudget(), 0.001F);
+        assertEquals(1F, controller.getMinScale());
+        assertEquals(1, controller.getSampleFrames());
+
+        controller.setMinScale(0F);
+
+        assertEquals(0.1F, controller.getMinScale());
+    }
+
+    /**
+     * Records the read back frames, every frame spends the time by the read back and by the write.
+     */
+    private static void record(FrameTransferStats stats, int frames, float stageMillis) {
+        for (int i = 0; i < frames; i++) {
+            stats.record(Stage.READBACK, (long) (stageMillis * MILLISECOND));
+            stats.record(Stage.WRITE, (long) (stageMillis * MILLISECOND));
+        }
+    }
+}
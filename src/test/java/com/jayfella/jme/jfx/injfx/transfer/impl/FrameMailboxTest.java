@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injfx.transfer.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.jayfella.jme.jfx.util.FrameTiles;
+import com.jayfella.jme.jfx.util.PixelSwizzle;
+
+/**
+ * Tests the frame mailbox with the pipeline of the frame transfer: read back RGBA frames, convert only the rows
+ * of dirty tiles to BGRA and publish.
+ *
+ * @author JavaSaBr
+ */
+public class FrameMailboxTest {
+
+    private static final int WIDTH = FrameTiles.TILE_SIZE;
+
+    private FrameBufferArena.Owner owner;
+
+    @BeforeEach
+    public void createOwner() {
+        owner = new FrameBufferArena(0, false).createOwner("test");
+    }
+
+    @AfterEach
+    public void closeOwner() {
+        owner.close();
+    }
+
+    @Test
+    public void slotWhichMissedFramesGetsConvertedTiles() {
+
+        var tiles = new FrameTiles(WIDTH, 2 * FrameTiles.TILE_SIZE);
+        var mailbox = new FrameMailbox(tiles, owner);
+        var frame = ByteBuffer.allocate(WIDTH * 2 * FrameTiles.TILE_SIZE * 4);
+
+        produce(mailbox, tiles, frame, 0x11223344, 0x55667788);
+
+        assertTrue(mailbox.acquire());
+        assertFront(mailbox, 0x11223344, 0x55667788);
+
+        // the next back slot didn't get any frame yet
+        produce(mailbox, tiles, frame, 0x99AABBCC, 0x55667788);
+        // only the second tile is dirty and converted, the slot missed the change of the first tile
+        produce(mailbox, tiles, frame, 0x99AABBCC, 0x0D0E0F10);
+
+        assertTrue(mailbox.acquire());
+        assertArrayEquals(new boolean[]{true, true}, mailbox.getChangedTiles());
+        assertFront(mailbox, 0x99AABBCC, 0x0D0E0F10);
+        assertEquals(1, mailbox.getDroppedCount());
+    }
+
+    @Test
+    public void resizedSlotGetsConvertedTiles() {
+
+        var tiles = new FrameTiles(WIDTH, FrameTiles.TILE_SIZE);
+        var mailbox = new FrameMailbox(tiles, owner);
+        var frame = ByteBuffer.allocate(WIDTH * 3 * FrameTiles.TILE_SIZE * 4);
+
+        produce(mailbox, tiles, frame, 0x01020304);
+        assertTrue(mailbox.acquire());
+
+        tiles = new FrameTiles(WIDTH, 3 * FrameTiles.TILE_SIZE);
+        mailbox.setFrameTiles(tiles);
+
+        produce(mailbox, tiles, frame, 0x11223344, 0x55667788, 0x99AABBCC);
+        assertTrue(mailbox.acquire());
+        assertFront(mailbox, 0x11223344, 0x55667788, 0x99AABBCC);
+
+        // the back slot has the old size, only the last tile is dirty
+        produce(mailbox, tiles, frame, 0x11223344, 0x55667788, 0x0D0E0F10);
+        assertTrue(mailbox.acquire());
+        assertArrayEquals(new boolean[]{false, false, true}, mailbox.getChangedTiles());
+        assertFront(mailbox, 0x11223344, 0x55667788, 0x0D0E0F10);
+    }
+
+    /**
+     * Fills the frame by the RGBA colors of rows of tiles.
+     */
+    private static void fill(ByteBuffer frame, FrameTiles tiles, int... colors) {
+
+        frame.clear();
+
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                frame.putInt(colors[y / FrameTiles.TILE_SIZE]);
+            }
+        }
+
+        frame.flip();
+    }
+
+    /**
+     * Produces the frame like the frame transfer.
+     */
+    private static void produce(FrameMailbox mailbox, FrameTiles tiles, ByteBuffer frame, int... colors) {
+
+        fill(frame, tiles, colors);
+
+        if (tiles.update(frame) == 0) {
+            return;
+        }
+
+        final int rowLength = tiles.getWidth() * 4;
+
+        for (int tile = 0; tile < tiles.getTileCount(); tile++) {
+            if (tiles.isDirty(tile)) {
+                final int minY = tile * FrameTiles.TILE_SIZE;
+                final int maxY = Math.min(minY + FrameTiles.TILE_SIZE, tiles.getHeight());
+                PixelSwizzle.reorderRGBA8ToBGRA8(frame, minY * rowLength, (maxY - minY) * rowLength);
+            }
+        }
+
+        mailbox.publish(frame);
+    }
+
+    /**
+     * Checks the front slot has the BGRA colors of rows of tiles.
+     */
+    private static void assertFront(FrameMailbox mailbox, int... colors) {
+
+        final byte[] front = mailbox.getFront();
+        final int width = mailbox.getFrontWidth();
+        final int height = mailbox.getFrontHeight();
+
+        for (int y = 0; y < height; y++) {
+
+            final int rgba = colors[y / FrameTiles.TILE_SIZE];
+
+            for (int x = 0; x < width; x++) {
+                final int offset = (y * width + x) * 4;
+                assertEquals((byte) (rgba >>> 8), front[offset], "blue at " + x + "x" + y);
+                assertEquals((byte) (rgba >>> 16), front[offset + 1], "green at " + x + "x" + y);
+                assertEquals((byte) (rgba >>> 24), front[offset + 2], "red at " + x + "x" + y);
+                assertEquals((byte) rgba, front[offset + 3], "alpha at " + x + "x" + y);
+            }
+        }
+    }
+}
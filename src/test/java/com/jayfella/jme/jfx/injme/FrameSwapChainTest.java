@@ -0,0 +1,260 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injme;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jayfella.jme.jfx.util.DirtyRegion;
+import com.jayfella.jme.jfx.util.FrameBufferArena;
+import com.sun.javafx.embed.EmbeddedSceneInterface;
+
+/**
+ * Tests publishing javaFX frames and their changed regions by the swap chain.
+ *
+ * @author JavaSaBr
+ */
+public class FrameSwapChainTest {
+
+    private static final int WIDTH = 16;
+    private static final int HEIGHT = 12;
+
+    /**
+     * The opaque pixel, it doesn't depend on the byte order.
+     */
+    private static final int OPAQUE = 0xFFFFFFFF;
+
+    private FrameBufferArena.Owner owner;
+
+    /**
+     * The pixels of the scene.
+     */
+    private int[] scene;
+
+    /**
+     * True if the scene has pixels to draw.
+     */
+    private boolean sceneReady;
+
+    private EmbeddedSceneInterface sceneInterface;
+
+    @BeforeEach
+    public void createScene() {
+
+        owner = new FrameBufferArena(0, false).createOwner("test");
+        scene = new int[WIDTH * HEIGHT];
+        sceneReady = true;
+        sceneInterface = (EmbeddedSceneInterface) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{EmbeddedSceneInterface.class}, (proxy, method, args) -> {
+
+                    if (!"getPixels".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    } else if (!sceneReady) {
+                        return false;
+                    }
+
+                    ((IntBuffer) args[0]).put(0, scene);
+                    return true;
+                });
+    }
+
+    @AfterEach
+    public void closeOwner() {
+        owner.close();
+    }
+
+    @Test
+    public void firstFrameIsFullyChanged() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+        scene[5] = 42;
+
+        assertFalse(swapChain.hasNewFrame());
+        assertTrue(swapChain.draw(sceneInterface, null));
+        assertTrue(swapChain.acquire());
+
+        assertRegion(swapChain.getFrontRegion(), 0, 0, WIDTH, HEIGHT);
+        assertEquals(42, swapChain.getFrontBuffer().asIntBuffer().get(5));
+        assertEquals(1, swapChain.getFrameSequence());
+    }
+
+    @Test
+    public void notReadySceneIsNotPublished() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+        sceneReady = false;
+
+        assertFalse(swapChain.draw(sceneInterface, null));
+        assertFalse(swapChain.hasNewFrame());
+    }
+
+    @Test
+    public void unchangedFrameIsNotPublished() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+        setPixel(0, 0, 1);
+
+        assertTrue(swapChain.draw(sceneInterface, null));
+        assertTrue(swapChain.acquire());
+
+        assertFalse(swapChain.draw(sceneInterface, null));
+        assertFalse(swapChain.hasNewFrame());
+        assertEquals(1, swapChain.getFrameSequence());
+    }
+
+    @Test
+    public void frontRegionIncludesDroppedFrames() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+
+        swapChain.draw(sceneInterface, null);
+        swapChain.acquire();
+
+        setPixel(1, 1, 1);
+        assertTrue(swapChain.draw(sceneInterface, null));
+
+        setPixel(5, 6, 1);
+        assertTrue(swapChain.draw(sceneInterface, null));
+        assertEquals(1, swapChain.getDroppedFrames());
+
+        assertTrue(swapChain.acquire());
+        assertRegion(swapChain.getFrontRegion(), 1, 1, 6, 7);
+        assertEquals(1, swapChain.getFrontBuffer().asIntBuffer().get(6 * WIDTH + 5));
+    }
+
+    @Test
+    public void frontRegionCoversChangesSinceTakenFrame() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+
+        swapChain.draw(sceneInterface, null);
+        swapChain.acquire();
+
+        setPixel(2, 3, 1);
+        swapChain.draw(sceneInterface, null);
+        swapChain.acquire();
+
+        setPixel(9, 8, 1);
+        swapChain.draw(sceneInterface, null);
+        swapChain.acquire();
+
+        var region = swapChain.getFrontRegion();
+
+        assertTrue(region.getMinX() <= 9 && region.getMaxX() > 9);
+        assertTrue(region.getMinY() <= 8 && region.getMaxY() > 8);
+
+        // the region keeps the change of the taken frame until the taking is known by drawing
+        setPixel(12, 10, 1);
+        swapChain.draw(sceneInterface, null);
+        swapChain.acquire();
+
+        assertRegion(swapChain.getFrontRegion(), 9, 8, 13, 11);
+    }
+
+    @Test
+    public void frontBufferIsNotDrawnWhileTaken() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+
+        setPixel(0, 0, 1);
+        swapChain.draw(sceneInterface, null);
+        swapChain.acquire();
+
+        var front = swapChain.getFrontBuffer();
+
+        for (int i = 2; i < 6; i++) {
+            setPixel(0, 0, i);
+            swapChain.draw(sceneInterface, null);
+            assertEquals(1, front.asIntBuffer().get(0));
+        }
+
+        assertTrue(swapChain.acquire());
+        assertNotSame(front, swapChain.getFrontBuffer());
+        assertEquals(5, swapChain.getFrontBuffer().asIntBuffer().get(0));
+    }
+
+    @Test
+    public void coverageMaskFollowsDrawnFrames() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+
+        assertNull(swapChain.getCoverageMask());
+
+        setPixel(3, 4, OPAQUE);
+        swapChain.draw(sceneInterface, null);
+
+        assertTrue(swapChain.getCoverageMask().isCovered(3, 4));
+        assertFalse(swapChain.getCoverageMask().isCovered(4, 4));
+
+        setPixel(3, 4, 0);
+        setPixel(10, 4, OPAQUE);
+        swapChain.draw(sceneInterface, null);
+
+        assertFalse(swapChain.getCoverageMask().isCovered(3, 4));
+        assertTrue(swapChain.getCoverageMask().isCovered(10, 4));
+
+        // the changed parameters rebuild the mask of an unchanged frame
+        swapChain.setCoverage(2, 1);
+        assertFalse(swapChain.draw(sceneInterface, null));
+        assertEquals(2, swapChain.getCoverageMask().getCellShift());
+        assertTrue(swapChain.getCoverageMask().isCovered(8, 7));
+    }
+
+    @Test
+    public void disposeReleasesBuffers() {
+
+        var swapChain = new FrameSwapChain(WIDTH, HEIGHT, owner);
+
+        assertTrue(owner.getLiveBytes() >= 3L * WIDTH * HEIGHT * 4);
+
+        swapChain.dispose();
+        swapChain.dispose();
+
+        assertEquals(0, owner.getLiveBytes());
+    }
+
+    private void setPixel(int x, int y, int pixel) {
+        scene[y * WIDTH + x] = pixel;
+    }
+
+    private static void assertRegion(DirtyRegion region, int minX, int minY, int maxX, int maxY) {
+        assertEquals(minX, region.getMinX(), "minX");
+        assertEquals(minY, region.getMinY(), "minY");
+        assertEquals(maxX, region.getMaxX(), "maxX");
+        assertEquals(maxY, region.getMaxY(), "maxY");
+    }
+}
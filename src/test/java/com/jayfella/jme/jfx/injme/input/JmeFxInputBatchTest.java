@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.injme.input;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests collecting and merging mouse events of the input batch.
+ *
+ * @author JavaSaBr
+ */
+public class JmeFxInputBatchTest {
+
+    private static final int MOVED = 5;
+    private static final int DRAGGED = 6;
+
+    @Test
+    public void eventsAreKeptInOrder() {
+
+        var batch = new JmeFxInputBatch();
+
+        batch.addMotion(1, 2, 0, 0, MOVED, 0);
+        batch.addButton(1, 2, 1, 7);
+        batch.addMotion(3, 4, 1, 1, DRAGGED, 1);
+
+        assertRecords(batch,
+                JmeFxInputBatch.KIND_MOTION, 1, 2, 0, 0, MOVED, 0,
+                JmeFxInputBatch.KIND_BUTTON, 1, 2, 1, 7, 0, 0,
+                JmeFxInputBatch.KIND_MOTION, 3, 4, 1, 1, DRAGGED, 1);
+    }
+
+    @Test
+    public void arrayGrowsForBigFrames() {
+
+        var batch = new JmeFxInputBatch();
+
+        for (int i = 0; i < 1000; i++) {
+            batch.addMotion(i, i, 0, 0, MOVED, 0);
+        }
+
+        assertEquals(1000 * JmeFxInputBatch.STRIDE, batch.size());
+        assertEquals(999, batch.getRecords()[999 * JmeFxInputBatch.STRIDE + 1]);
+
+        batch.clear();
+
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void consecutiveMotionIsMerged() {
+
+        var batch = new JmeFxInputBatch();
+
+        batch.mergeMotion(1, 2, 1, 1, MOVED, 0);
+        batch.mergeMotion(3, 4, 2, 3, MOVED, 0);
+        batch.mergeMotion(5, 6, -1, 2, MOVED, 0);
+
+        assertRecords(batch, JmeFxInputBatch.KIND_MOTION, 5, 6, 2, 2, MOVED, 0);
+    }
+
+    @Test
+    public void buttonsAndOtherMotionAreNotMerged() {
+
+        var batch = new JmeFxInputBatch();
+
+        batch.mergeMotion(1, 2, 0, 0, MOVED, 0);
+        batch.addButton(1, 2, 1, 7);
+        batch.mergeMotion(3, 4, 0, 0, MOVED, 0);
+        batch.mergeMotion(5, 6, 0, 0, DRAGGED, 1);
+
+        assertRecords(batch,
+                JmeFxInputBatch.KIND_MOTION, 1, 2, 0, 0, MOVED, 0,
+                JmeFxInputBatch.KIND_BUTTON, 1, 2, 1, 7, 0, 0,
+                JmeFxInputBatch.KIND_MOTION, 3, 4, 0, 0, MOVED, 0,
+                JmeFxInputBatch.KIND_MOTION, 5, 6, 0, 0, DRAGGED, 1);
+    }
+
+    private static void assertRecords(JmeFxInputBatch batch, int... records) {
+        assertArrayEquals(records, Arrays.copyOf(batch.getRecords(), batch.size()));
+    }
+}
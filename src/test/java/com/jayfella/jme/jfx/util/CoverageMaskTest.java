@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.IntBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the cells of coverage masks.
+ *
+ * @author JavaSaBr
+ */
+public class CoverageMaskTest {
+
+    private static final int ALPHA_SHIFT = 24;
+
+    /**
+     * The width with more than 64 cells per row, so a row has several words.
+     */
+    private static final int WIDTH = 150;
+    private static final int HEIGHT = 21;
+
+    @Test
+    public void notSupportedParametersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CoverageMask(WIDTH, HEIGHT, -1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CoverageMask(WIDTH, HEIGHT, CoverageMask.MAX_CELL_SHIFT + 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CoverageMask(WIDTH, HEIGHT, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CoverageMask(WIDTH, HEIGHT, 0, 256));
+    }
+
+    @Test
+    public void newMaskIsNotCovered() {
+
+        var mask = new CoverageMask(WIDTH, HEIGHT, 0, 1);
+
+        assertFalse(mask.isCovered(0, 0));
+        assertFalse(mask.isCovered(WIDTH - 1, HEIGHT - 1));
+    }
+
+    @Test
+    public void pixelCellsAreCovered() {
+
+        var pixels = IntBuffer.allocate(WIDTH * HEIGHT);
+        var mask = new CoverageMask(WIDTH, HEIGHT, 0, 1);
+
+        setAlpha(pixels, 3, 4, 0xFF);
+        setAlpha(pixels, 130, 20, 0x01);
+        mask.update(pixels, ALPHA_SHIFT, new DirtyRegion().setFull(WIDTH, HEIGHT));
+
+        assertTrue(mask.isCovered(3, 4));
+        assertTrue(mask.isCovered(130, 20));
+        assertFalse(mask.isCovered(4, 4));
+        assertFalse(mask.isCovered(3, 5));
+        assertFalse(mask.isCovered(130 - 64, 20));
+    }
+
+    @Test
+    public void cellIsCoveredByAnyPixel() {
+
+        var pixels = IntBuffer.allocate(WIDTH * HEIGHT);
+        var mask = new CoverageMask(WIDTH, HEIGHT, 2, 1);
+
+        setAlpha(pixels, 5, 6, 0x80);
+        setAlpha(pixels, WIDTH - 1, HEIGHT - 1, 0x80);
+        mask.update(pixels, ALPHA_SHIFT, new DirtyRegion().setFull(WIDTH, HEIGHT));
+
+        assertTrue(mask.isCovered(4, 4));
+        assertTrue(mask.isCovered(7, 7));
+        assertFalse(mask.isCovered(8, 7));
+        assertFalse(mask.isCovered(7, 3));
+
+        // the partial cell at the corner
+        assertTrue(mask.isCovered(WIDTH - 2, HEIGHT - 1));
+    }
+
+    @Test
+    public void alphaBelowThresholdIsNotCovered() {
+
+        var pixels = IntBuffer.allocate(WIDTH * HEIGHT);
+        var mask = new CoverageMask(WIDTH, HEIGHT, 0, 0x80);
+
+        setAlpha(pixels, 1, 1, 0x7F);
+        setAlpha(pixels, 2, 1, 0x80);
+        mask.update(pixels, ALPHA_SHIFT, new DirtyRegion().setFull(WIDTH, HEIGHT));
+
+        assertFalse(mask.isCovered(1, 1));
+        assertTrue(mask.isCovered(2, 1));
+    }
+
+    @Test
+    public void updateChangesOnlyCellsOfRegion() {
+
+        var pixels = IntBuffer.allocate(WIDTH * HEIGHT);
+        var mask = new CoverageMask(WIDTH, HEIGHT, 1, 1);
+
+        setAlpha(pixels, 10, 10, 0xFF);
+        setAlpha(pixels, 100, 10, 0xFF);
+        mask.update(pixels, ALPHA_SHIFT, new DirtyRegion().setFull(WIDTH, HEIGHT));
+
+        setAlpha(pixels, 10, 10, 0);
+        setAlpha(pixels, 100, 10, 0);
+        mask.update(pixels, ALPHA_SHIFT, new DirtyRegion().set(11, 11, 12, 12));
+
+        assertFalse(mask.isCovered(10, 10));
+        assertTrue(mask.isCovered(100, 10));
+
+        mask.update(pixels, ALPHA_SHIFT, new DirtyRegion());
+
+        assertTrue(mask.isCovered(100, 10));
+    }
+
+    @Test
+    public void pixelsOutsideFrameAreNotCovered() {
+
+        var pixels = IntBuffer.allocate(WIDTH * HEIGHT);
+        var mask = new CoverageMask(WIDTH, HEIGHT, 3, 1);
+
+        for (int i = 0; i < pixels.capacity(); i++) {
+            pixels.put(i, 0xFF000000);
+        }
+
+        mask.update(pixels, ALPHA_SHIFT, new DirtyRegion().setFull(WIDTH, HEIGHT));
+
+        assertTrue(mask.isCovered(0, 0));
+        assertFalse(mask.isCovered(-1, 0));
+        assertFalse(mask.isCovered(0, -1));
+        assertFalse(mask.isCovered(WIDTH, 0));
+        assertFalse(mask.isCovered(0, HEIGHT));
+    }
+
+    private static void setAlpha(IntBuffer pixels, int x, int y, int alpha) {
+        pixels.put(y * WIDTH + x, (alpha << ALPHA_SHIFT) | 0x00FFFFFF);
+    }
+}
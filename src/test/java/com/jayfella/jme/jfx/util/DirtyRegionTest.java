@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.IntBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the bounds, the union and the diff of dirty regions.
+ *
+ * @author JavaSaBr
+ */
+public class DirtyRegionTest {
+
+    private static final int WIDTH = 19;
+    private static final int HEIGHT = 11;
+
+    @Test
+    public void newRegionIsEmpty() {
+
+        var region = new DirtyRegion();
+
+        assertTrue(region.isEmpty());
+        assertEquals(0, region.getWidth());
+        assertEquals(0, region.getHeight());
+        assertEquals(0, region.getArea());
+    }
+
+    @Test
+    public void invertedRegionIsEmpty() {
+
+        var region = new DirtyRegion().set(5, 2, 3, 8);
+
+        assertTrue(region.isEmpty());
+        assertEquals(0, region.getWidth());
+        assertEquals(0, region.getArea());
+    }
+
+    @Test
+    public void fullRegionCoversFrame() {
+
+        var region = new DirtyRegion().setFull(WIDTH, HEIGHT);
+
+        assertBounds(region, 0, 0, WIDTH, HEIGHT);
+        assertEquals((long) WIDTH * HEIGHT, region.getArea());
+        assertTrue(region.clear().isEmpty());
+    }
+
+    @Test
+    public void unionWithEmptyRegion() {
+
+        var region = new DirtyRegion().set(1, 2, 3, 4);
+        var empty = new DirtyRegion();
+
+        assertSame(region, region.union(empty));
+        assertBounds(region, 1, 2, 3, 4);
+
+        assertBounds(empty.union(region), 1, 2, 3, 4);
+    }
+
+    @Test
+    public void unionCoversBothRegions() {
+
+        var region = new DirtyRegion().set(1, 5, 3, 6);
+        region.union(new DirtyRegion().set(4, 2, 9, 3));
+
+        assertBounds(region, 1, 2, 9, 6);
+    }
+
+    @Test
+    public void diffOfEqualFramesIsEmpty() {
+
+        var prev = createFrame();
+        var next = createFrame();
+        var result = new DirtyRegion().set(1, 1, 2, 2);
+
+        assertSame(result, DirtyRegion.diff(prev, next, WIDTH, HEIGHT, result));
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void diffBoundsChangedPixels() {
+
+        var prev = createFrame();
+        var next = createFrame();
+
+        next.put(3 * WIDTH + 12, 1);
+        next.put(7 * WIDTH + 4, 1);
+
+        var result = DirtyRegion.diff(prev, next, WIDTH, HEIGHT, new DirtyRegion());
+
+        assertBounds(result, 4, 3, 13, 8);
+    }
+
+    @Test
+    public void diffFindsChangedCorners() {
+
+        var prev = createFrame();
+        var next = createFrame();
+
+        next.put(0, 1);
+        next.put(WIDTH * HEIGHT - 1, 1);
+
+        assertBounds(DirtyRegion.diff(prev, next, WIDTH, HEIGHT, new DirtyRegion()), 0, 0, WIDTH, HEIGHT);
+
+        next = createFrame();
+        next.put((HEIGHT - 1) * WIDTH + WIDTH - 1, 1);
+
+        assertBounds(DirtyRegion.diff(prev, next, WIDTH, HEIGHT, new DirtyRegion()), WIDTH - 1, HEIGHT - 1,
+                WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void diffIgnoresBufferPositions() {
+
+        var prev = createFrame();
+        var next = createFrame();
+
+        next.put(5 * WIDTH + 6, 1);
+        prev.position(7);
+        next.position(WIDTH * HEIGHT);
+
+        var result = DirtyRegion.diff(prev, next, WIDTH, HEIGHT, new DirtyRegion());
+
+        assertFalse(result.isEmpty());
+        assertBounds(result, 6, 5, 7, 6);
+    }
+
+    private static IntBuffer createFrame() {
+
+        var frame = IntBuffer.allocate(WIDTH * HEIGHT);
+
+        for (int i = 0; i < frame.capacity(); i++) {
+            frame.put(i, i * 31);
+        }
+
+        return frame;
+    }
+
+    private static void assertBounds(DirtyRegion region, int minX, int minY, int maxX, int maxY) {
+        assertEquals(minX, region.getMinX(), "minX");
+        assertEquals(minY, region.getMinY(), "minY");
+        assertEquals(maxX, region.getMaxX(), "maxX");
+        assertEquals(maxY, region.getMaxY(), "maxY");
+    }
+}
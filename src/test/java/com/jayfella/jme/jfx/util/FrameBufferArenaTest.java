@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests reusing, trimming and accounting of frame buffers by the arena.
+ *
+ * @author JavaSaBr
+ */
+public class FrameBufferArenaTest {
+
+    private static final int SMALL = 64 * 1024;
+    private static final int MEDIUM = 128 * 1024;
+    private static final int LARGE = 256 * 1024;
+
+    @Test
+    public void sizeClassesHaveLimitedSlack() {
+        assertEquals(4096, FrameBufferArena.getSizeClass(1));
+        assertEquals(SMALL, FrameBufferArena.getSizeClass(SMALL));
+        assertEquals(SMALL + SMALL / 8, FrameBufferArena.getSizeClass(SMALL + 1));
+        assertEquals(8 << 20, FrameBufferArena.getSizeClass(1920 * 1080 * 4));
+    }
+
+    @Test
+    public void releasedBufferIsReusedBySizeClass() {
+
+        var arena = new FrameBufferArena(0, false);
+        var owner = arena.createOwner("test");
+
+        var buffer = owner.allocate(SMALL);
+        buffer.put(0, (byte) 42);
+        owner.release(buffer);
+
+        assertEquals(SMALL, arena.getPooledBytes());
+        assertEquals(0, arena.getLiveBytes());
+
+        // the pooled buffer isn't cleared, so the mark shows the same native memory
+        var reused = owner.allocate(SMALL - 100);
+
+        assertEquals(42, reused.get(0));
+        assertEquals(SMALL - 100, reused.capacity());
+        assertEquals(0, arena.getPooledBytes());
+        assertEquals(SMALL, arena.getLiveBytes());
+
+        owner.release(reused);
+        owner.close();
+    }
+
+    @Test
+    public void poolKeepsLimitedBuffersPerSizeClass() {
+
+        var arena = new FrameBufferArena(0, false);
+        var owner = arena.createOwner("test");
+        var buffers = new ByteBuffer[5];
+
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = owner.allocate(SMALL);
+        }
+
+        for (var buffer : buffers) {
+            owner.release(buffer);
+        }
+
+        assertEquals(3L * SMALL, arena.getPooledBytes());
+        owner.close();
+    }
+
+    @Test
+    public void poolLimitDestroysOldestBuffers() {
+
+        var arena = new FrameBufferArena(0, MEDIUM + LARGE, false);
+        var owner = arena.createOwner("test");
+
+        var small = owner.allocate(SMALL);
+        var medium = owner.allocate(MEDIUM);
+        var large = owner.allocate(LARGE);
+
+        small.put(0, (byte) 1);
+        medium.put(0, (byte) 2);
+        large.put(0, (byte) 3);
+
+        owner.release(small);
+        owner.release(medium);
+        owner.release(large);
+
+        // the small buffer was released first and doesn't fit in the limit with the others
+        assertEquals(MEDIUM + LARGE, arena.getPooledBytes());
+        assertEquals(0, owner.allocate(SMALL).get(0));
+        assertEquals(2, owner.allocate(MEDIUM).get(0));
+        assertEquals(3, owner.allocate(LARGE).get(0));
+        assertEquals(0, arena.getPooledBytes());
+
+        owner.close();
+    }
+
+    @Test
+    public void reusedBufferKeepsOrderOfOtherBuffers() {
+
+        var arena = new FrameBufferArena(0, false);
+        var owner = arena.createOwner("test");
+
+        var first = owner.allocate(SMALL);
+        var second = owner.allocate(SMALL);
+        var medium = owner.allocate(MEDIUM);
+
+        first.put(0, (byte) 1);
+        second.put(0, (byte) 2);
+
+        owner.release(first);
+        owner.release(second);
+        owner.release(medium);
+
+        // the newest small buffer is reused, the first one stays the oldest pooled buffer
+        assertEquals(2, owner.allocate(SMALL).get(0));
+
+        arena.setPoolLimit(MEDIUM);
+
+        assertEquals(MEDIUM, arena.getPooledBytes());
+        assertEquals(0, owner.allocate(SMALL).get(0));
+
+        arena.setPoolLimit(0);
+
+        assertEquals(0, arena.getPooledBytes());
+        owner.close();
+    }
+
+    @Test
+    public void limitTrimsPoolBeforeFailing() {
+
+        var arena = new FrameBufferArena(SMALL + MEDIUM, false);
+        var owner = arena.createOwner("test");
+
+        owner.release(owner.allocate(SMALL));
+
+        // the pooled small buffer is destroyed to fit the bigger buffer in the limit
+        var buffer = owner.allocate(MEDIUM + 1);
+
+        assertEquals(0, arena.getPooledBytes());
+        assertEquals(FrameBufferArena.getSizeClass(MEDIUM + 1), arena.getLiveBytes());
+        assertThrows(OutOfMemoryError.class, () -> owner.allocate(SMALL));
+
+        owner.release(buffer);
+        owner.close();
+    }
+
+    @Test
+    public void ownerAccountsLiveAndLeakedBytes() {
+
+        var arena = new FrameBufferArena(0, false);
+        var owner = arena.createOwner("test");
+
+        var buffer = owner.allocate(SMALL);
+        var array = owner.allocateArray(1000);
+
+        assertEquals(SMALL + 1000, owner.getLiveBytes());
+        assertEquals(SMALL, arena.getLiveBytes());
+        assertThrows(IllegalArgumentException.class, () -> arena.createOwner("other").release(buffer));
+
+        owner.release(array);
+        owner.close();
+
+        assertEquals(SMALL, arena.getLeakedBytes());
+        assertEquals(0, arena.getLiveBytes());
+        assertThrows(IllegalStateException.class, () -> owner.allocate(SMALL));
+    }
+}
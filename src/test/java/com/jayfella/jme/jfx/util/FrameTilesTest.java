@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests finding changed tiles of frames.
+ *
+ * @author JavaSaBr
+ */
+public class FrameTilesTest {
+
+    /**
+     * The size with partial tiles at the right and the bottom, the right tiles have a row of 3 pixels.
+     */
+    private static final int WIDTH = 2 * FrameTiles.TILE_SIZE + 3;
+    private static final int HEIGHT = FrameTiles.TILE_SIZE + 6;
+
+    @Test
+    public void gridCoversPartialTiles() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+
+        assertEquals(3, tiles.getTilesX());
+        assertEquals(2, tiles.getTilesY());
+        assertEquals(6, tiles.getTileCount());
+        assertEquals(WIDTH, tiles.getWidth());
+        assertEquals(HEIGHT, tiles.getHeight());
+    }
+
+    @Test
+    public void firstUpdateMarksAllTiles() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+
+        assertEquals(6, tiles.update(createFrame()));
+        assertDirty(tiles, 0, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void sameFrameHasNoDirtyTiles() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+        var frame = createFrame();
+
+        tiles.update(frame);
+
+        assertEquals(0, tiles.update(frame));
+        assertEquals(0, tiles.update(createFrame()));
+        assertDirty(tiles);
+    }
+
+    @Test
+    public void changedPixelsMarkTheirTiles() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+        var frame = createFrame();
+
+        tiles.update(frame);
+
+        setPixel(frame, FrameTiles.TILE_SIZE + 1, FrameTiles.TILE_SIZE, 0x01020304);
+
+        assertEquals(1, tiles.update(frame));
+        assertDirty(tiles, 4);
+
+        // the last pixel of a row is hashed as a tail int
+        setPixel(frame, WIDTH - 1, 0, 0x05060708);
+        setPixel(frame, 0, HEIGHT - 1, 0x05060708);
+
+        assertEquals(2, tiles.update(frame));
+        assertDirty(tiles, 2, 3);
+    }
+
+    @Test
+    public void changedFrameMarksTileUntilNextUpdate() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+        var frame = createFrame();
+
+        tiles.update(frame);
+        setPixel(frame, 10, 10, 0x01020304);
+
+        assertEquals(1, tiles.update(frame));
+        assertEquals(0, tiles.update(frame));
+    }
+
+    @Test
+    public void invalidateMarksAllTilesByNextUpdate() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+        var frame = createFrame();
+
+        tiles.update(frame);
+        tiles.invalidate();
+
+        assertEquals(6, tiles.update(frame));
+        assertEquals(0, tiles.update(frame));
+    }
+
+    @Test
+    public void markAllMarksTilesWithoutUpdate() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+        var frame = createFrame();
+
+        tiles.update(frame);
+        tiles.update(frame);
+        tiles.markAll();
+
+        assertEquals(6, tiles.getDirtyCount());
+        assertDirty(tiles, 0, 1, 2, 3, 4, 5);
+
+        // the hashes are kept
+        assertEquals(0, tiles.update(frame));
+    }
+
+    @Test
+    public void tooSmallFrameIsRejected() {
+
+        var tiles = new FrameTiles(WIDTH, HEIGHT);
+
+        assertThrows(IllegalArgumentException.class, () -> tiles.update(ByteBuffer.allocate(WIDTH * HEIGHT * 4 - 1)));
+    }
+
+    private static ByteBuffer createFrame() {
+
+        var frame = ByteBuffer.allocate(WIDTH * HEIGHT * 4);
+
+        for (int i = 0; i < WIDTH * HEIGHT; i++) {
+            frame.putInt(i * 4, i * 0x9E3779B9);
+        }
+
+        return frame;
+    }
+
+    private static void setPixel(ByteBuffer frame, int x, int y, int pixel) {
+        frame.putInt((y * WIDTH + x) * 4, pixel);
+    }
+
+    private static void assertDirty(FrameTiles tiles, int... dirtyTiles) {
+
+        var expected = new boolean[tiles.getTileCount()];
+
+        for (int tile : dirtyTiles) {
+            expected[tile] = true;
+        }
+
+        for (int tile = 0; tile < expected.length; tile++) {
+            assertEquals(expected[tile], tiles.isDirty(tile), "tile " + tile);
+        }
+
+        assertEquals(dirtyTiles.length, tiles.getDirtyCount());
+        assertTrue(tiles.getDirtyCount() <= tiles.getTileCount());
+    }
+}
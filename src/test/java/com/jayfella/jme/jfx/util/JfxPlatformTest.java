@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests coalescing schedules of tasks to JavaFX thread without a started JavaFX toolkit.
+ *
+ * @author JavaSaBr
+ */
+public class JfxPlatformTest {
+
+    @Test
+    public void schedulesBeforeRunAreCoalesced() {
+
+        var posted = new ArrayDeque<Runnable>();
+        var runs = new AtomicInteger();
+        var task = JfxPlatform.coalesce(runs::incrementAndGet, posted::add);
+
+        assertTrue(task.schedule());
+        assertFalse(task.schedule());
+        assertFalse(task.schedule());
+
+        assertEquals(1, posted.size());
+        assertTrue(task.isPending());
+
+        posted.poll().run();
+
+        assertEquals(1, runs.get());
+        assertFalse(task.isPending());
+        assertEquals(3, task.getLastCoveredCount());
+        assertEquals(3, task.getCoveredCount());
+        assertEquals(1, task.getRunCount());
+
+        // the run lets the next schedule post the task again
+        assertTrue(task.schedule());
+        posted.poll().run();
+
+        assertEquals(2, runs.get());
+        assertEquals(1, task.getLastCoveredCount());
+        assertEquals(4, task.getCoveredCount());
+        assertEquals(2, task.getRunCount());
+    }
+
+    @Test
+    public void failedPostDoesNotLeaveTaskPending() {
+
+        var failures = new AtomicInteger(1);
+        var posted = new ArrayDeque<Runnable>();
+        var task = JfxPlatform.coalesce(() -> {}, runnable -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Toolkit not initialized");
+            }
+            posted.add(runnable);
+        });
+
+        assertThrows(IllegalStateException.class, task::schedule);
+        assertFalse(task.isPending());
+
+        assertTrue(task.schedule());
+        assertEquals(1, posted.size());
+        assertTrue(task.isPending());
+
+        posted.poll().run();
+
+        assertFalse(task.isPending());
+        assertEquals(1, task.getRunCount());
+    }
+}
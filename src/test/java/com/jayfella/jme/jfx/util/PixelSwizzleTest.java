@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the word kernels of the pixel swizzle produce the same bytes as the byte kernels.
+ *
+ * @author JavaSaBr
+ */
+public class PixelSwizzleTest {
+
+    /**
+     * The widths of frames: single pixels, odd widths and widths around the chunk of the word kernels.
+     */
+    private static final int[] WIDTHS = {1, 3, 7, 33, 4095, 4097, 8193};
+
+    /**
+     * The count of bytes after the last whole pixel.
+     */
+    private static final int[] TAILS = {0, 1, 2, 3};
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void reorderARGB8ToABGR8WordsMatchesBytes() {
+        for (int width : WIDTHS) {
+            for (int tail : TAILS) {
+                assertWholeBuffer(width * 4 + tail, PixelSwizzle::reorderARGB8ToABGR8Words,
+                        PixelSwizzle::reorderARGB8ToABGR8Bytes);
+            }
+        }
+    }
+
+    @Test
+    public void reorderBGRA8ToABGR8WordsMatchesBytes() {
+        for (int width : WIDTHS) {
+            for (int tail : TAILS) {
+                assertWholeBuffer(width * 4 + tail, PixelSwizzle::reorderBGRA8ToABGR8Words,
+                        PixelSwizzle::reorderBGRA8ToABGR8Bytes);
+            }
+        }
+    }
+
+    @Test
+    public void reorderRGBA8ToBGRA8WordsMatchesBytes() {
+        for (int width : WIDTHS) {
+            for (int tail : TAILS) {
+                final int length = width * 4 + tail;
+                assertWholeBuffer(length, data -> PixelSwizzle.reorderRGBA8ToBGRA8Words(data, 0, length),
+                        data -> PixelSwizzle.reorderRGBA8ToBGRA8Bytes(data, 0, length));
+            }
+        }
+    }
+
+    @Test
+    public void reorderRGBA8ToBGRA8WordsKeepsRowPadding() {
+
+        final int height = 5;
+
+        for (int width : WIDTHS) {
+            for (int padding = 1; padding <= 3; padding++) {
+
+                // the stride keeps pixels aligned, the padding of rows must stay untouched
+                final int rowLength = width * 4;
+                final int stride = rowLength + padding * 4;
+
+                assertWholeBuffer(stride * height, data -> {
+                    for (int y = 0; y < height; y++) {
+                        PixelSwizzle.reorderRGBA8ToBGRA8Words(data, y * stride, rowLength);
+                    }
+                }, data -> {
+                    for (int y = 0; y < height; y++) {
+                        PixelSwizzle.reorderRGBA8ToBGRA8Bytes(data, y * stride, rowLength);
+                    }
+                });
+            }
+        }
+    }
+
+    @Test
+    public void reorderRGBA8ToBGRA8WordsConvertsOnlyRange() {
+
+        final int width = 17;
+        final int data = width * 4 * 3;
+
+        assertWholeBuffer(data, buffer -> PixelSwizzle.reorderRGBA8ToBGRA8Words(buffer, width * 4, width * 4),
+                buffer -> PixelSwizzle.reorderRGBA8ToBGRA8Bytes(buffer, width * 4, width * 4));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.put(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}).flip();
+
+        PixelSwizzle.reorderRGBA8ToBGRA8Words(buffer, 4, 4);
+
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 7, 6, 5, 8}), buffer);
+    }
+
+    @Test
+    public void kernelsIgnoreOrderAndPosition() {
+
+        final ByteBuffer data = ByteBuffer.allocateDirect(4 * 9 + 2).order(ByteOrder.LITTLE_ENDIAN);
+        fill(data);
+        data.position(5);
+
+        final ByteBuffer expected = copy(data);
+
+        PixelSwizzle.reorderBGRA8ToABGR8Words(data);
+        PixelSwizzle.reorderBGRA8ToABGR8Bytes(expected);
+
+        assertEquals(5, data.position());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, data.order());
+        assertEquals(expected.position(0), data.position(0));
+    }
+
+    /**
+     * Applies both kernels to the same random heap and direct data and compares all bytes up to the capacity.
+     */
+    private void assertWholeBuffer(int length, Consumer<ByteBuffer> words, Consumer<ByteBuffer> bytes) {
+
+        final ByteBuffer heap = ByteBuffer.allocate(length);
+        fill(heap);
+
+        final ByteBuffer direct = copy(heap);
+        final ByteBuffer expected = copy(heap);
+
+        words.accept(heap);
+        words.accept(direct);
+        bytes.accept(expected);
+
+        assertEquals(expected, heap, "heap buffer of " + length + " bytes");
+        assertEquals(expected, direct, "direct buffer of " + length + " bytes");
+    }
+
+    private void fill(ByteBuffer data) {
+
+        final byte[] values = new byte[data.capacity()];
+        random.nextBytes(values);
+
+        data.clear();
+        data.put(values);
+        data.flip();
+    }
+
+    private static ByteBuffer copy(ByteBuffer data) {
+
+        final ByteBuffer copy = ByteBuffer.allocateDirect(data.capacity());
+        copy.put(data.duplicate().clear());
+        copy.flip();
+        copy.position(data.position());
+
+        return copy;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2019-2025, jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *    Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    Neither the name of the <organization> nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jayfella.jme.jfx.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the exchange of slots of the triple buffer.
+ *
+ * @author JavaSaBr
+ */
+public class TripleBufferTest {
+
+    private static final int FRAMES = 200_000;
+
+    @Test
+    public void acquireWithoutFrameKeepsFrontSlot() {
+
+        var buffer = new TripleBuffer();
+        var front = buffer.getFrontIndex();
+
+        assertFalse(buffer.hasNewFrame());
+        assertFalse(buffer.acquire());
+        assertEquals(front, buffer.getFrontIndex());
+        assertEquals(0, buffer.getAcquiredSequence());
+    }
+
+    @Test
+    public void acquireTakesPublishedSlot() {
+
+        var buffer = new TripleBuffer();
+        var back = buffer.getBackIndex();
+
+        assertFalse(buffer.publish());
+        assertTrue(buffer.hasNewFrame());
+        assertNotEquals(back, buffer.getBackIndex());
+
+        assertTrue(buffer.acquire());
+        assertFalse(buffer.hasNewFrame());
+        assertEquals(back, buffer.getFrontIndex());
+        assertEquals(1, buffer.getPublishedSequence());
+        assertEquals(1, buffer.getAcquiredSequence());
+        assertEquals(0, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void publishOverwritesNotTakenFrame() {
+
+        var buffer = new TripleBuffer();
+
+        assertFalse(buffer.publish());
+
+        var latest = buffer.getBackIndex();
+
+        assertTrue(buffer.publish());
+        assertEquals(1, buffer.getDroppedCount());
+
+        assertTrue(buffer.acquire());
+        assertEquals(latest, buffer.getFrontIndex());
+        assertEquals(2, buffer.getAcquiredSequence());
+
+        // the taken frame isn't counted as dropped
+        assertFalse(buffer.publish());
+        assertEquals(1, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void backSlotIsNeverFrontSlot() {
+
+        var buffer = new TripleBuffer();
+
+        for (int i = 0; i < 64; i++) {
+
+            if (i % 3 != 0) {
+                buffer.publish();
+            }
+
+            assertNotEquals(buffer.getBackIndex(), buffer.getFrontIndex());
+
+            if (i % 2 == 0) {
+                buffer.acquire();
+            }
+
+            assertNotEquals(buffer.getBackIndex(), buffer.getFrontIndex());
+        }
+    }
+
+    @Test
+    public void consumerSeesCompleteFramesInOrder() throws InterruptedException {
+
+        var buffer = new TripleBuffer();
+        var slots = new long[TripleBuffer.SLOTS][2];
+        var error = new AtomicReference<Throwable>();
+
+        var producer = new Thread(() -> {
+            for (long frame = 1; frame <= FRAMES; frame++) {
+                var slot = slots[buffer.getBackIndex()];
+                slot[0] = frame;
+                slot[1] = -frame;
+                buffer.publish();
+            }
+        });
+
+        producer.setUncaughtExceptionHandler((thread, e) -> error.set(e));
+        producer.start();
+
+        long last = 0;
+
+        while (last < FRAMES) {
+
+            if (!buffer.acquire()) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            var slot = slots[buffer.getFrontIndex()];
+            var frame = slot[0];
+
+            assertTrue(frame > last, "frame " + frame + " after " + last);
+            assertEquals(-frame, slot[1]);
+            assertEquals(frame, buffer.getAcquiredSequence());
+
+            last = frame;
+        }
+
+        producer.join();
+
+        assertEquals(null, error.get());
+        assertEquals(FRAMES, buffer.getPublishedSequence());
+    }
+}